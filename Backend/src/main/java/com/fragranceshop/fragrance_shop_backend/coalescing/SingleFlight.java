@@ -0,0 +1,101 @@
+package com.fragranceshop.fragrance_shop_backend.coalescing;
+
+import com.fragranceshop.fragrance_shop_backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+// Concurrent calls for the same key share one in-flight load and its result (or exception).
+// Nothing is cached: once the load finishes the next call for that key loads again.
+// Callers for whom a shared load could be stale (bypass returns true) always load on their own,
+// and a follower that waits longer than followerTimeout stops waiting and loads itself.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final BooleanSupplier bypass;
+    private final long followerTimeoutNanos;
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter bypassed;
+    private final Counter timedOut;
+
+    public SingleFlight(String name, MeterRegistry registry, BooleanSupplier bypass, Duration followerTimeout) {
+        this.bypass = bypass;
+        this.followerTimeoutNanos = followerTimeout.toNanos();
+        this.executed = counter(registry, name, "executed");
+        this.coalesced = counter(registry, name, "coalesced");
+        this.bypassed = counter(registry, name, "bypassed");
+        this.timedOut = counter(registry, name, "timed-out");
+        Gauge.builder("coalescing.inflight", inFlight, ConcurrentMap::size)
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String result) {
+        return Counter.builder("coalescing.requests")
+                .tag("name", name)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        if (bypass.getAsBoolean()) {
+            bypassed.increment();
+            return loader.get();
+        }
+
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing != null) {
+            return await(existing, loader);
+        }
+
+        executed.increment();
+        try {
+            V result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call, Supplier<V> loader) {
+        try {
+            V result = call.get(followerTimeoutNanos, TimeUnit.NANOSECONDS);
+            coalesced.increment();
+            return result;
+        } catch (TimeoutException e) {
+            // Don't let one stuck leader stall everyone behind it
+            timedOut.increment();
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for a shared load");
+        } catch (ExecutionException e) {
+            coalesced.increment();
+            // Rethrow the leader's exception as-is so e.g. NotFoundException still maps to 404
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fragranceshop.fragrance_shop_backend.config;
+
+import com.fragranceshop.fragrance_shop_backend.coalescing.SingleFlight;
+import com.fragranceshop.fragrance_shop_backend.datasource.ClientContext;
+import com.fragranceshop.fragrance_shop_backend.datasource.PrimaryReads;
+import com.fragranceshop.fragrance_shop_backend.datasource.ReadYourWritesTracker;
+import com.fragranceshop.fragrance_shop_backend.dto.response.OrderWithCustomerResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.ProductResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.BooleanSupplier;
+
+@Configuration
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class CoalescingConfig {
+
+    @Bean
+    public SingleFlight<Long, ProductResponseDTO> productLoads(MeterRegistry registry,
+                                                               ReadYourWritesTracker tracker,
+                                                               CoalescingProperties properties) {
+        return new SingleFlight<>("product", registry, readsFromPrimary(tracker), properties.getFollowerTimeout());
+    }
+
+    @Bean
+    public SingleFlight<Long, OrderWithCustomerResponseDTO> orderSummaryLoads(MeterRegistry registry,
+                                                                              ReadYourWritesTracker tracker,
+                                                                              CoalescingProperties properties) {
+        return new SingleFlight<>("order-summary", registry, readsFromPrimary(tracker), properties.getFollowerTimeout());
+    }
+
+    // A client pinned to primary after its own write must not join a (possibly replica) load
+    // started by someone else, or it could see data older than that write
+    private static BooleanSupplier readsFromPrimary(ReadYourWritesTracker tracker) {
+        return () -> PrimaryReads.isActive() || tracker.isSticky(ClientContext.current());
+    }
+}
@@ -0,0 +1,16 @@
+package com.fragranceshop.fragrance_shop_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.coalescing")
+public class CoalescingProperties {
+
+    // How long a follower waits on someone else's load before running its own
+    private Duration followerTimeout = Duration.ofSeconds(2);
+}
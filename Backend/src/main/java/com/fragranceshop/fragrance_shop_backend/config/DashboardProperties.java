@@ -0,0 +1,20 @@
+package com.fragranceshop.fragrance_shop_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.dashboard")
+public class DashboardProperties {
+
+    // Each dashboard section gets this long before it is dropped from the response
+    private Duration branchTimeout = Duration.ofMillis(500);
+
+    // Dashboards loading at once; each holds one replica connection per section (4), so keep
+    // maxConcurrent * 4 below the replica pool size. Extra requests wait up to branchTimeout, then get 503
+    private int maxConcurrent = 4;
+}
@@ -0,0 +1,19 @@
+package com.fragranceshop.fragrance_shop_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    // How long after a client's write its reads are pinned to primary
+    private Duration replicaLagTolerance = Duration.ofSeconds(2);
+
+    // Header carrying the client id; requests without it get no read-your-writes stickiness
+    private String clientHeader = "X-Client-Id";
+}
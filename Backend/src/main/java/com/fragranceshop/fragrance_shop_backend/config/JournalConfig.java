@@ -0,0 +1,23 @@
+package com.fragranceshop.fragrance_shop_backend.config;
+
+import com.fragranceshop.fragrance_shop_backend.journal.OrderJournal;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(JournalProperties.class)
+public class JournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public OrderJournal orderJournal(JournalProperties properties) {
+        return new OrderJournal(
+                Path.of(properties.getDirectory()),
+                Math.toIntExact(properties.getSegmentSize().toBytes()),
+                properties.getRetainedSegments(),
+                properties.getFlushInterval()
+        );
+    }
+}
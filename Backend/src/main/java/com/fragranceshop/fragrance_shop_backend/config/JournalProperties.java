@@ -0,0 +1,24 @@
+package com.fragranceshop.fragrance_shop_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.journal")
+public class JournalProperties {
+
+    private String directory = "data/order-journal";
+
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    // Oldest segments beyond this count are deleted when a new one is started
+    private int retainedSegments = 16;
+
+    // Upper bound on how much acknowledged data a crash can lose
+    private Duration flushInterval = Duration.ofMillis(200);
+}
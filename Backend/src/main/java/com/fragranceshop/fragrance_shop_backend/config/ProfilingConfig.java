@@ -0,0 +1,41 @@
+package com.fragranceshop.fragrance_shop_backend.config;
+
+import com.fragranceshop.fragrance_shop_backend.profiling.MapperProfilingPostProcessor;
+import com.fragranceshop.fragrance_shop_backend.profiling.ProfilingFilter;
+import com.fragranceshop.fragrance_shop_backend.profiling.ProfilingJacksonConverter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public static MapperProfilingPostProcessor mapperProfilingPostProcessor() {
+        return new MapperProfilingPostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ProfilingFilter> profilingFilter(ProfilingProperties properties) {
+        FilterRegistrationBean<ProfilingFilter> registration = new FilterRegistrationBean<>(
+                new ProfilingFilter(properties.getSampleRate(), properties.getSlowThreshold()));
+        // Just inside the client context filter so the whole request is measured
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter instanceof MappingJackson2HttpMessageConverter jackson
+                ? new ProfilingJacksonConverter(jackson.getObjectMapper())
+                : converter);
+    }
+}
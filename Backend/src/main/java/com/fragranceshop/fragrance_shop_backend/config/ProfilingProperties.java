@@ -0,0 +1,19 @@
+package com.fragranceshop.fragrance_shop_backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.profiling")
+public class ProfilingProperties {
+
+    // Fraction of requests profiled (0 disables, 1 profiles everything)
+    private double sampleRate = 0.01;
+
+    // Sampled requests at least this slow are logged with their SQL
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
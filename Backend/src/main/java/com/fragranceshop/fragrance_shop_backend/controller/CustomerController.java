@@ -1,8 +1,12 @@
 package com.fragranceshop.fragrance_shop_backend.controller;
 
 import com.fragranceshop.fragrance_shop_backend.dto.request.CustomerRequestDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.BatchResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerDashboardDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.DeltaResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerWithOrdersResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.service.CustomerDashboardService;
 import com.fragranceshop.fragrance_shop_backend.service.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,12 +22,25 @@ import java.util.List;
 public class `CustomerController {
 
     private final CustomerService service;
+    private final CustomerDashboardService dashboardService;
 
     @GetMapping
     public ResponseEntity<List<CustomerResponseDTO>> all() {
         return ResponseEntity.ok(service.getAll());
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponseDTO<CustomerResponseDTO>> many(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(service.getByIds(ids));
+    }
+
+    @GetMapping(params = {"changedSince", "!ids"})
+    public ResponseEntity<DeltaResponseDTO<CustomerResponseDTO>> changedSince(
+            @RequestParam String changedSince,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(service.getChangedSince(changedSince, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CustomerResponseDTO> one(@PathVariable Long id) {
         return ResponseEntity.ok(service.getById(id));
@@ -54,4 +71,9 @@ public class `CustomerController {
     public ResponseEntity<CustomerWithOrdersResponseDTO> getSummary(@PathVariable Long id) {
         return ResponseEntity.ok(service.getCustomerSummary(id));
     }
+
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<CustomerDashboardDTO> getDashboard(@PathVariable Long id) {
+        return ResponseEntity.ok(dashboardService.getDashboard(id));
+    }
 }
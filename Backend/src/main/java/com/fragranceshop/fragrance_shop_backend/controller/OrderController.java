@@ -1,11 +1,21 @@
 package com.fragranceshop.fragrance_shop_backend.controller;
 
+import com.fragranceshop.fragrance_shop_backend.coalescing.SingleFlight;
+import com.fragranceshop.fragrance_shop_backend.dto.request.OrderFilterDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.request.OrderRequestDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.BatchResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.DeltaResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.OrderEventsResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.OrderResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.OrderWithCustomerResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.PageResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.service.OrderEventService;
 import com.fragranceshop.fragrance_shop_backend.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,12 +28,39 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService service;
+    private final OrderEventService eventService;
+    private final SingleFlight<Long, OrderWithCustomerResponseDTO> orderSummaryLoads;
 
     @GetMapping
     public ResponseEntity<List<OrderResponseDTO>> all() {
         return ResponseEntity.ok(service.getAll());
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponseDTO<OrderResponseDTO>> many(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(service.getByIds(ids));
+    }
+
+    @GetMapping(params = {"changedSince", "!ids"})
+    public ResponseEntity<DeltaResponseDTO<OrderResponseDTO>> changedSince(
+            @RequestParam String changedSince,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(service.getChangedSince(changedSince, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PageResponseDTO<OrderResponseDTO>> search(
+            OrderFilterDTO filter,
+            @PageableDefault(size = 20, sort = "dateCreated", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(service.search(filter, pageable));
+    }
+
+    @GetMapping("/events")
+    public ResponseEntity<OrderEventsResponseDTO> events(@RequestParam(defaultValue = "0") long fromOffset,
+                                                         @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(eventService.getEvents(fromOffset, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> one(@PathVariable Long id) {
         return ResponseEntity.ok(service.getById(id));
@@ -52,6 +89,6 @@ public class OrderController {
 
     @GetMapping("/{id}/summary")
     public ResponseEntity<OrderWithCustomerResponseDTO> getSummary(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getOrderSummary(id));
+        return ResponseEntity.ok(orderSummaryLoads.execute(id, () -> service.getOrderSummary(id)));
     }
 }
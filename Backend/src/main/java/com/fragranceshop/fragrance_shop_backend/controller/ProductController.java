@@ -1,6 +1,11 @@
 package com.fragranceshop.fragrance_shop_backend.controller;
 
+import com.fragranceshop.fragrance_shop_backend.coalescing.SingleFlight;
+import com.fragranceshop.fragrance_shop_backend.dto.request.ProductBulkUpdateRequestDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.request.ProductRequestDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.BatchResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.DeltaResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.ProductBulkUpdateResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.ProductResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.service.ProductService;
 import jakarta.validation.Valid;
@@ -17,15 +22,28 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService service;
+    private final SingleFlight<Long, ProductResponseDTO> productLoads;
 
     @GetMapping
     public ResponseEntity<List<ProductResponseDTO>> all() {
         return ResponseEntity.ok(service.getAll());
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponseDTO<ProductResponseDTO>> many(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(service.getByIds(ids));
+    }
+
+    @GetMapping(params = {"changedSince", "!ids"})
+    public ResponseEntity<DeltaResponseDTO<ProductResponseDTO>> changedSince(
+            @RequestParam String changedSince,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(service.getChangedSince(changedSince, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponseDTO> one(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getById(id));
+        return ResponseEntity.ok(productLoads.execute(id, () -> service.getById(id)));
     }
 
     @PostMapping
@@ -43,6 +61,11 @@ public class ProductController {
         return ResponseEntity.ok(service.update(id, dto));
     }
 
+    @PatchMapping("/bulk")
+    public ResponseEntity<ProductBulkUpdateResponseDTO> bulkUpdate(@Valid @RequestBody ProductBulkUpdateRequestDTO dto) {
+        return ResponseEntity.ok(service.bulkUpdate(dto));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
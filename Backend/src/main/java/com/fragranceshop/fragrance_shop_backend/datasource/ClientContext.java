@@ -0,0 +1,22 @@
+package com.fragranceshop.fragrance_shop_backend.datasource;
+
+// Holds the id of the client behind the current request so routing can honour read-your-writes
+public final class ClientContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ClientContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void set(String clientId) {
+        CURRENT.set(clientId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,47 @@
+package com.fragranceshop.fragrance_shop_backend.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Identifies the calling client by an explicit header only. The remote address is no use as a
+// fallback: behind the hosting proxy every client shares it, so one write would pin everyone
+// to primary. Requests without the header get no read-your-writes stickiness.
+@Slf4j
+public class ClientContextFilter extends OncePerRequestFilter {
+
+    private final String clientHeader;
+    private final AtomicBoolean anonymousLogged = new AtomicBoolean();
+
+    public ClientContextFilter(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String clientId = request.getHeader(clientHeader);
+        if (clientId == null || clientId.isBlank()) {
+            if (anonymousLogged.compareAndSet(false, true)) {
+                log.info("Requests without a {} header share one anonymous identity and are not "
+                        + "routed for read-your-writes; their reads may lag their own writes", clientHeader);
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ClientContext.set(clientId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ClientContext.clear();
+        }
+    }
+}
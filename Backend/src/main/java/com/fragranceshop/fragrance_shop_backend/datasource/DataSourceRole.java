@@ -0,0 +1,6 @@
+package com.fragranceshop.fragrance_shop_backend.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,29 @@
+package com.fragranceshop.fragrance_shop_backend.datasource;
+
+import java.util.function.Supplier;
+
+// Pins reads inside the supplier to primary even in a read-only transaction, for reads that
+// must not observe replica lag. Works because connections are fetched lazily on first statement.
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        if (isActive()) {
+            return reads.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
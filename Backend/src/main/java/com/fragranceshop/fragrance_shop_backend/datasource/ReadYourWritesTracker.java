@@ -0,0 +1,47 @@
+package com.fragranceshop.fragrance_shop_backend.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers when each client last committed a write; while that write may not have
+// reached the replica yet (within the lag tolerance) the client's reads stay on primary.
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long toleranceNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration replicaLagTolerance) {
+        this.toleranceNanos = replicaLagTolerance.toNanos();
+    }
+
+    public void recordWrite(String clientId) {
+        if (clientId == null || toleranceNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrites.put(clientId, now);
+
+        // Drop expired entries once the map grows so idle clients don't accumulate
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= toleranceNanos);
+        }
+    }
+
+    public boolean isSticky(String clientId) {
+        if (clientId == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(clientId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < toleranceNanos) {
+            return true;
+        }
+        lastWrites.remove(clientId, writtenAt);
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.fragranceshop.fragrance_shop_backend.dto.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Ranges are half-open: from/minAmount inclusive, to/maxAmount exclusive,
+// so adjacent ranges (e.g. one day after another) never overlap
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderFilterDTO {
+
+    private Long customerId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private Double minAmount;
+    private Double maxAmount;
+    private Long productId;
+}
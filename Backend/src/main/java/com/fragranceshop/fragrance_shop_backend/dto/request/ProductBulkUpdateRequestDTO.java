@@ -0,0 +1,24 @@
+package com.fragranceshop.fragrance_shop_backend.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Scope: exactly one of brand or ids. Operations: pricePercent and/or stockDelta.
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductBulkUpdateRequestDTO {
+
+    private String brand;
+    private List<Long> ids;
+
+    // e.g. 10 raises prices by 10%, -25 lowers them by a quarter
+    @DecimalMin(value = "-100", inclusive = false)
+    private Double pricePercent;
+
+    private Integer stockDelta;
+}
@@ -0,0 +1,8 @@
+package com.fragranceshop.fragrance_shop_backend.dto.response;
+
+import java.util.List;
+
+public record BatchResponseDTO<T>(
+        List<T> items,
+        List<Long> missingIds
+) {}
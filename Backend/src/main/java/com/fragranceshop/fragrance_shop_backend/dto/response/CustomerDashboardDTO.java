@@ -0,0 +1,12 @@
+package com.fragranceshop.fragrance_shop_backend.dto.response;
+
+import java.util.List;
+
+// Sections that timed out or failed are listed in 'unavailable' and come back empty/null
+public record CustomerDashboardDTO(
+        CustomerResponseDTO customer,
+        List<OrderSummaryDTO> recentOrders,
+        CustomerSpendDTO spend,
+        List<ProductResponseDTO> products,
+        List<String> unavailable
+) {}
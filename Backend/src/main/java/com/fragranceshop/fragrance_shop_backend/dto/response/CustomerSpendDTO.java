@@ -0,0 +1,6 @@
+package com.fragranceshop.fragrance_shop_backend.dto.response;
+
+public record CustomerSpendDTO(
+        Long orderCount,
+        Double totalSpent
+) {}
@@ -0,0 +1,15 @@
+package com.fragranceshop.fragrance_shop_backend.dto.response;
+
+import java.util.List;
+
+// watermark: opaque token to send as changedSince next time.
+// reset: the token wasn't issued by this database (it was recreated, or the token is foreign or
+// malformed), so this is a full resync from scratch and the client must discard what it has first.
+// hasMore: more changes are waiting after watermark; fetch again with it right away.
+public record DeltaResponseDTO<T>(
+        List<T> changed,
+        List<Long> deletedIds,
+        String watermark,
+        boolean reset,
+        boolean hasMore
+) {}
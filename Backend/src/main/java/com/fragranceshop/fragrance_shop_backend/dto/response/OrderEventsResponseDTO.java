@@ -0,0 +1,14 @@
+package com.fragranceshop.fragrance_shop_backend.dto.response;
+
+import com.fragranceshop.fragrance_shop_backend.journal.JournalEntry;
+
+import java.util.List;
+
+// startOffset: oldest offset still retained. truncated: the requested offset was older than that,
+// so events between it and the first returned one are gone and a derived view must be rebuilt.
+public record OrderEventsResponseDTO(
+        List<JournalEntry> events,
+        long nextOffset,
+        long startOffset,
+        boolean truncated
+) {}
@@ -0,0 +1,11 @@
+package com.fragranceshop.fragrance_shop_backend.dto.response;
+
+import java.util.List;
+
+public record PageResponseDTO<T>(
+        List<T> items,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages
+) {}
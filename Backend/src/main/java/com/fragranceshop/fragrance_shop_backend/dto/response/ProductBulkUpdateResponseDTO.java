@@ -0,0 +1,12 @@
+package com.fragranceshop.fragrance_shop_backend.dto.response;
+
+import java.util.List;
+
+// Skipped ids are products in scope that were left unchanged: a price that would round to zero,
+// or stock that would drop below zero. Ids that don't exist are in neither list.
+public record ProductBulkUpdateResponseDTO(
+        int pricesUpdated,
+        List<Long> priceSkippedIds,
+        int stockUpdated,
+        List<Long> stockSkippedIds
+) {}
@@ -0,0 +1,17 @@
+package com.fragranceshop.fragrance_shop_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Identifies this database's change history. Created once with the schema, so a recreated
+// database (e.g. create-drop on restart) gets a new epoch and old sync tokens stop matching.
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Table(name = "change_epoch")
+public class ChangeEpoch {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String epoch;
+}
@@ -6,7 +6,9 @@ import lombok.*;
 
 @Entity
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
-@Table(name = "customer")
+@Table(name = "customer", indexes = {
+        @Index(name = "idx_customer_change_seq", columnList = "changeSeq")
+})
 public class Customer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,4 +18,7 @@ public class Customer {
     @NotBlank private String lastName;
     @Email @Column(unique = true) private String email;
 
+    // Bumped on every write, drives ?changedSince delta sync
+    private Long changeSeq;
+
 }
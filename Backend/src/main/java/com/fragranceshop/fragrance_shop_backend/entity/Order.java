@@ -9,7 +9,13 @@ import java.util.*;
 
 @Entity
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // customer + date range (customer's recent orders, "customer X last week")
+        @Index(name = "idx_orders_customer_date", columnList = "customer_id, dateCreated"),
+        // date range + amount range across all customers
+        @Index(name = "idx_orders_date_amount", columnList = "dateCreated, totalAmount"),
+        @Index(name = "idx_orders_change_seq", columnList = "changeSeq")
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,6 +24,9 @@ public class Order {
     @NotNull private LocalDateTime dateCreated;
     @Positive private Double totalAmount;
 
+    // Bumped on every write (including customer/product renames that change the order view)
+    private Long changeSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
@@ -25,7 +34,8 @@ public class Order {
     @ManyToMany
     @JoinTable(name = "order_products",
             joinColumns = @JoinColumn(name = "order_id"),
-            inverseJoinColumns = @JoinColumn(name = "product_id"))
+            inverseJoinColumns = @JoinColumn(name = "product_id"),
+            indexes = @Index(name = "idx_order_products_product", columnList = "product_id, order_id"))
     private List<Product> products = new ArrayList<>();
 }
 
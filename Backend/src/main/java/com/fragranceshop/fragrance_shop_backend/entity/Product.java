@@ -6,7 +6,9 @@ import lombok.*;
 
 @Entity
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
-@Table(name = "product")
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_change_seq", columnList = "changeSeq")
+})
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,4 +20,7 @@ public class Product {
     @Min(0) private Integer stockQuantity;
     private String description;
     private String concentration; // EDT, EDP, Parfum
+
+    // Bumped on every write, drives ?changedSince delta sync
+    private Long changeSeq;
 }
@@ -0,0 +1,26 @@
+package com.fragranceshop.fragrance_shop_backend.entity;
+
+import com.fragranceshop.fragrance_shop_backend.sync.ChangeEntityType;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Table(name = "tombstone", indexes = {
+        @Index(name = "idx_tombstone_type_seq", columnList = "entityType, changeSeq")
+})
+public class Tombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private Long changeSeq;
+}
@@ -0,0 +1,8 @@
+package com.fragranceshop.fragrance_shop_backend.journal;
+
+// The offset is past the end of the journal or doesn't point at the start of a record
+public class InvalidJournalOffsetException extends IllegalArgumentException {
+    public InvalidJournalOffsetException(String message) {
+        super(message);
+    }
+}
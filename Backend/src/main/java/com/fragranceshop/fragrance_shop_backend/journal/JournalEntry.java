@@ -0,0 +1,6 @@
+package com.fragranceshop.fragrance_shop_backend.journal;
+
+public record JournalEntry(
+        long offset,
+        OrderEvent event
+) {}
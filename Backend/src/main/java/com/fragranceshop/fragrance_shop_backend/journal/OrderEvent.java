@@ -0,0 +1,32 @@
+package com.fragranceshop.fragrance_shop_backend.journal;
+
+import com.fragranceshop.fragrance_shop_backend.entity.Order;
+import com.fragranceshop.fragrance_shop_backend.entity.Product;
+
+import java.util.List;
+
+public record OrderEvent(
+        OrderEventType type,
+        long orderId,
+        Long customerId,
+        Double totalAmount,
+        long timestamp,
+        List<Long> productIds
+) {
+
+    // Reads the order's associations, so call it inside the transaction that changed the order
+    public static OrderEvent of(OrderEventType type, Order order) {
+        return new OrderEvent(
+                type,
+                order.getId(),
+                order.getCustomer().getId(),
+                order.getTotalAmount(),
+                System.currentTimeMillis(),
+                order.getProducts().stream().map(Product::getId).toList()
+        );
+    }
+
+    public static OrderEvent deleted(long orderId) {
+        return new OrderEvent(OrderEventType.DELETED, orderId, null, null, System.currentTimeMillis(), List.of());
+    }
+}
@@ -0,0 +1,54 @@
+package com.fragranceshop.fragrance_shop_backend.journal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fixed-width binary layout:
+// type(1) orderId(8) customerId(8, -1 = none) totalAmount(8, NaN = none) timestamp(8) productCount(4) productIds(8 each)
+final class OrderEventCodec {
+
+    private static final int FIXED_BYTES = 1 + 8 + 8 + 8 + 8 + 4;
+
+    private OrderEventCodec() {
+    }
+
+    static int size(OrderEvent event) {
+        return FIXED_BYTES + 8 * event.productIds().size();
+    }
+
+    static void encode(OrderEvent event, ByteBuffer target) {
+        target.put(event.type().code());
+        target.putLong(event.orderId());
+        target.putLong(event.customerId() == null ? -1 : event.customerId());
+        target.putDouble(event.totalAmount() == null ? Double.NaN : event.totalAmount());
+        target.putLong(event.timestamp());
+        target.putInt(event.productIds().size());
+        for (Long productId : event.productIds()) {
+            target.putLong(productId);
+        }
+    }
+
+    static OrderEvent decode(ByteBuffer source) {
+        OrderEventType type = OrderEventType.fromCode(source.get());
+        long orderId = source.getLong();
+        long customerId = source.getLong();
+        double totalAmount = source.getDouble();
+        long timestamp = source.getLong();
+
+        int productCount = source.getInt();
+        List<Long> productIds = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            productIds.add(source.getLong());
+        }
+
+        return new OrderEvent(
+                type,
+                orderId,
+                customerId < 0 ? null : customerId,
+                Double.isNaN(totalAmount) ? null : totalAmount,
+                timestamp,
+                List.copyOf(productIds)
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package com.fragranceshop.fragrance_shop_backend.journal;
+
+public enum OrderEventType {
+    PLACED((byte) 1),
+    UPDATED((byte) 2),
+    DELETED((byte) 3);
+
+    private final byte code;
+
+    OrderEventType(byte code) {
+        this.code = code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static OrderEventType fromCode(byte code) {
+        for (OrderEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order event type " + code);
+    }
+}
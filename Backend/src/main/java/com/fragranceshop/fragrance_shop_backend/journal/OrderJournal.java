@@ -0,0 +1,377 @@
+package com.fragranceshop.fragrance_shop_backend.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only order event log split into fixed-size memory-mapped segment files named by
+// their base offset. Each record is length(4) crc32c(4) payload; a zero length marks the end
+// of a segment. Appends only copy into the mapping; a background task fsyncs dirty data every
+// flush interval, so a crash can lose at most that window, and recovery drops any torn tail.
+// The same background thread keeps the next segment mapped in advance and does the fsync and
+// deletes that follow a roll, so an append that fills a segment never waits on the disk.
+@Slf4j
+public class OrderJournal implements Closeable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SUFFIX = ".log";
+    private static final String STANDBY_FILE = "next.pending";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int retainedSegments;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService flusher;
+
+    // Guarded by this; endOffset is also read without the lock by replay
+    private Segment active;
+    private Segment standby;
+    private volatile long endOffset;
+    private boolean dirty;
+
+    public OrderJournal(Path directory, int segmentSize, int retainedSegments, Duration flushInterval) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.retainedSegments = Math.max(1, retainedSegments);
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order journal in " + directory, e);
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        flusher.execute(this::prepareStandby);
+    }
+
+    // Returns the offset of the appended record
+    public synchronized long append(OrderEvent event) {
+        int payloadSize = OrderEventCodec.size(event);
+        int recordSize = HEADER_BYTES + payloadSize;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Event of " + recordSize + " bytes exceeds segment size");
+        }
+
+        int position = (int) (endOffset - active.baseOffset);
+        if (position + recordSize > segmentSize) {
+            roll();
+            position = 0;
+        }
+
+        ByteBuffer record = active.buffer.slice(position, recordSize);
+        record.putInt(payloadSize);
+        record.putInt(0);
+        OrderEventCodec.encode(event, record);
+        record.putInt(4, checksum(record, HEADER_BYTES, payloadSize));
+
+        long offset = endOffset;
+        endOffset = offset + recordSize;
+        dirty = true;
+        return offset;
+    }
+
+    // Feeds up to maxEvents entries starting at fromOffset (a record offset or a previously
+    // returned next offset) to the consumer and returns the offset to resume from.
+    // Offsets older than the retention window resume at the oldest retained record and come
+    // back flagged as truncated; offsets past the end or inside a record are rejected.
+    public ReplayResult replay(long fromOffset, int maxEvents, Consumer<JournalEntry> consumer) {
+        long end = endOffset;
+        if (fromOffset < 0 || fromOffset > end) {
+            throw new InvalidJournalOffsetException("Offset " + fromOffset + " is outside the journal (end " + end + ")");
+        }
+
+        Map.Entry<Long, Segment> entry = segments.floorEntry(fromOffset);
+        long offset = fromOffset;
+        boolean truncated = false;
+        if (entry == null) {
+            entry = segments.firstEntry();
+            offset = entry.getKey();
+            truncated = true;
+        } else if (!isRecordBoundary(entry.getValue(), fromOffset, end)) {
+            throw new InvalidJournalOffsetException("Offset " + fromOffset + " is not the start of a record");
+        }
+
+        int delivered = 0;
+        while (entry != null && offset < end) {
+            Segment segment = entry.getValue();
+            int limit = (int) Math.min(segmentSize, end - segment.baseOffset);
+            int position = (int) (offset - segment.baseOffset);
+
+            int size;
+            while (delivered < maxEvents && (size = recordSize(segment.buffer, position, limit)) > 0) {
+                OrderEvent event = OrderEventCodec.decode(
+                        segment.buffer.slice(position + HEADER_BYTES, size - HEADER_BYTES));
+                consumer.accept(new JournalEntry(segment.baseOffset + position, event));
+                position += size;
+                delivered++;
+            }
+
+            offset = segment.baseOffset + position;
+            entry = segments.higherEntry(segment.baseOffset);
+            if (entry != null && recordSize(segment.buffer, position, limit) < 0) {
+                // Segment exhausted: resume at the next one so the returned offset is always a record start
+                offset = entry.getKey();
+            }
+            if (delivered >= maxEvents) {
+                break;
+            }
+        }
+        return new ReplayResult(offset, truncated);
+    }
+
+    // The end of the journal, the start of a segment, or a position holding a valid record.
+    // A length and CRC32C that both check out at a position inside a record practically never happen.
+    private boolean isRecordBoundary(Segment segment, long offset, long end) {
+        if (offset == end || offset == segment.baseOffset) {
+            return true;
+        }
+        int limit = (int) Math.min(segmentSize, end - segment.baseOffset);
+        return recordSize(segment.buffer, (int) (offset - segment.baseOffset), limit) > 0;
+    }
+
+    public long endOffset() {
+        return endOffset;
+    }
+
+    public long startOffset() {
+        return segments.firstKey();
+    }
+
+    void flush() {
+        Segment toFlush;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            toFlush = active;
+        }
+        // fsync outside the lock so appends never wait on the disk
+        try {
+            toFlush.buffer.force();
+        } catch (RuntimeException e) {
+            log.error("Order journal fsync failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // Let queued post-roll work finish first; it takes the lock, so don't hold it while waiting
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            active.buffer.force();
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            if (standby != null) {
+                standby.close();
+                deleteQuietly(standby.path);
+                standby = null;
+            }
+        }
+    }
+
+    // Under the lock: only swaps in the pre-mapped standby and picks what retention drops.
+    // Forcing the full segment and deleting expired ones is handed to the flusher thread.
+    private void roll() {
+        Segment full = active;
+        active = promoteStandby(endOffset);
+        segments.put(active.baseOffset, active);
+
+        List<Segment> expired = new ArrayList<>();
+        while (segments.size() > retainedSegments) {
+            expired.add(segments.pollFirstEntry().getValue());
+        }
+
+        Runnable afterRoll = () -> {
+            try {
+                full.buffer.force();
+            } catch (RuntimeException e) {
+                log.error("Order journal fsync failed", e);
+            }
+            for (Segment segment : expired) {
+                segment.close();
+                deleteQuietly(segment.path);
+            }
+            if (!flusher.isShutdown()) {
+                prepareStandby();
+            }
+        };
+        if (flusher.isShutdown()) {
+            afterRoll.run();
+        } else {
+            flusher.execute(afterRoll);
+        }
+    }
+
+    private Segment promoteStandby(long baseOffset) {
+        Segment next = standby;
+        standby = null;
+        if (next == null) {
+            // The flusher hasn't caught up (e.g. two rolls in quick succession): map one here
+            log.debug("No standby journal segment ready, mapping one inline");
+            return openSegment(baseOffset);
+        }
+        Path path = segmentPath(baseOffset);
+        try {
+            Files.move(next.path, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            next.close();
+            deleteQuietly(next.path);
+            throw new UncheckedIOException("Cannot promote standby journal segment to " + path, e);
+        }
+        return new Segment(baseOffset, path, next.channel, next.buffer);
+    }
+
+    // Runs on the flusher thread: maps the next segment ahead of time, outside the lock
+    void prepareStandby() {
+        synchronized (this) {
+            if (standby != null) {
+                return;
+            }
+        }
+        Path path = directory.resolve(STANDBY_FILE);
+        Segment prepared;
+        try {
+            Files.deleteIfExists(path);
+            prepared = map(-1, path);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not prepare standby journal segment", e);
+            return;
+        }
+        synchronized (this) {
+            standby = prepared;
+        }
+    }
+
+    private void recover() throws IOException {
+        // A standby that was never promoted holds no records
+        Files.deleteIfExists(directory.resolve(STANDBY_FILE));
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().matches("\\d{20}\\" + SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            long baseOffset = Long.parseLong(file.getFileName().toString().replace(SUFFIX, ""));
+            segments.put(baseOffset, openSegment(baseOffset));
+        }
+
+        if (segments.isEmpty()) {
+            active = openSegment(0);
+            segments.put(0L, active);
+            endOffset = 0;
+            return;
+        }
+
+        active = segments.lastEntry().getValue();
+        int position = 0;
+        int size;
+        while ((size = recordSize(active.buffer, position, segmentSize)) > 0) {
+            position += size;
+        }
+        endOffset = active.baseOffset + position;
+
+        // Clear whatever follows the last valid record so a torn write can't resurface later
+        for (int i = position; i < segmentSize; i++) {
+            active.buffer.put(i, (byte) 0);
+        }
+        active.buffer.force();
+    }
+
+    private Segment openSegment(long baseOffset) {
+        return map(baseOffset, segmentPath(baseOffset));
+    }
+
+    private Path segmentPath(long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+    }
+
+    private Segment map(long baseOffset, Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            return new Segment(baseOffset, path, channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal segment " + path, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete journal file {}", path, e);
+        }
+    }
+
+    // Size of the valid record at position, or -1 at the end of the data
+    private static int recordSize(ByteBuffer buffer, int position, int limit) {
+        if (position + HEADER_BYTES > limit) {
+            return -1;
+        }
+        int payloadSize = buffer.getInt(position);
+        if (payloadSize <= 0 || payloadSize > limit - position - HEADER_BYTES) {
+            return -1;
+        }
+        if (buffer.getInt(position + 4) != checksum(buffer, position + HEADER_BYTES, payloadSize)) {
+            return -1;
+        }
+        return HEADER_BYTES + payloadSize;
+    }
+
+    private static int checksum(ByteBuffer buffer, int position, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, length));
+        return (int) crc.getValue();
+    }
+
+    private record Segment(long baseOffset, Path path, FileChannel channel, MappedByteBuffer buffer) {
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close journal segment {}", path, e);
+            }
+        }
+    }
+}
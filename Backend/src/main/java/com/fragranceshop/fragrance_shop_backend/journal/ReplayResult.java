@@ -0,0 +1,8 @@
+package com.fragranceshop.fragrance_shop_backend.journal;
+
+// truncated: the requested offset had already been deleted by retention, so replay resumed at
+// the oldest retained record and everything in between is gone
+public record ReplayResult(
+        long nextOffset,
+        boolean truncated
+) {}
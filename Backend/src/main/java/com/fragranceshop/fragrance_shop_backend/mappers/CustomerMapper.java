@@ -13,7 +13,8 @@ public class CustomerMapper {
                 null,
                 dto.getFirstName(),
                 dto.getLastName(),
-                dto.getEmail()
+                dto.getEmail(),
+                null
         );
     }
 
@@ -16,7 +16,8 @@ public class ProductMapper {
                 dto.getPrice(),
                 dto.getStockQuantity(),
                 dto.getDescription(),
-                dto.getConcentration()
+                dto.getConcentration(),
+                null
         );
     }
 
@@ -0,0 +1,31 @@
+package com.fragranceshop.fragrance_shop_backend.profiling;
+
+import com.fragranceshop.fragrance_shop_backend.mappers.OrderMapper;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+// Charges every public call on the mapper components (OrderMapper, CustomerMapper, ProductMapper) to MAP
+public class MapperProfilingPostProcessor implements BeanPostProcessor {
+
+    private static final String MAPPERS_PACKAGE = OrderMapper.class.getPackageName();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!bean.getClass().getPackageName().equals(MAPPERS_PACKAGE)) {
+            return bean;
+        }
+
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            RequestProfiler.enter(Phase.MAP);
+            try {
+                return invocation.proceed();
+            } finally {
+                RequestProfiler.exit(Phase.MAP);
+            }
+        });
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,18 @@
+package com.fragranceshop.fragrance_shop_backend.profiling;
+
+public enum Phase {
+    DB("db"),
+    HYDRATE("hydrate"),
+    MAP("map"),
+    SERIALIZE("serialize");
+
+    private final String metricName;
+
+    Phase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
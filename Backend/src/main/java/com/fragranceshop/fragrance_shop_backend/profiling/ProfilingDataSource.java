@@ -0,0 +1,149 @@
+package com.fragranceshop.fragrance_shop_backend.profiling;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Attributes statement execution and ResultSet.next() to DB, and the rest of the time a
+// result set is open (Hibernate turning rows into entities) to HYDRATE. A result set left open
+// ends its HYDRATE when its statement is closed, as JDBC closes it implicitly there.
+// Connections are only wrapped while a sampled request is in progress.
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    public ProfilingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(super.getConnection(username, password));
+    }
+
+    private static Connection profiled(Connection connection) {
+        if (RequestProfiler.current() == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return profiledStatement(method.getReturnType(), statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private static Object profiledStatement(Class<?> type, Statement statement, String preparedSql) {
+        List<Hydration> open = new ArrayList<>();
+        return proxy(type, statement, (target, method, args) -> {
+            if (method.getName().equals("close")) {
+                try {
+                    return invoke(target, method, args);
+                } finally {
+                    open.forEach(Hydration::end);
+                    open.clear();
+                }
+            }
+            if (!method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            RequestProfiler.recordStatement(sql);
+
+            Object result;
+            RequestProfiler.enter(Phase.DB);
+            try {
+                result = invoke(target, method, args);
+            } finally {
+                RequestProfiler.exit(Phase.DB);
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                Hydration hydration = new Hydration();
+                open.removeIf(Hydration::ended);
+                open.add(hydration);
+                return profiledResultSet(resultSet, hydration);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet profiledResultSet(ResultSet resultSet, Hydration hydration) {
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> switch (method.getName()) {
+            case "next" -> {
+                RequestProfiler.enter(Phase.DB);
+                try {
+                    yield invoke(target, method, args);
+                } finally {
+                    RequestProfiler.exit(Phase.DB);
+                }
+            }
+            case "close" -> {
+                try {
+                    yield invoke(target, method, args);
+                } finally {
+                    hydration.end();
+                }
+            }
+            default -> invoke(target, method, args);
+        });
+    }
+
+    // HYDRATE for one result set; ended by whichever comes first of ResultSet.close() and
+    // Statement.close(), and only once
+    private static final class Hydration {
+
+        private boolean ended;
+
+        Hydration() {
+            RequestProfiler.enter(Phase.HYDRATE);
+        }
+
+        void end() {
+            if (!ended) {
+                ended = true;
+                RequestProfiler.exit(Phase.HYDRATE);
+            }
+        }
+
+        boolean ended() {
+            return ended;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.fragranceshop.fragrance_shop_backend.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Profiles a sample of requests. Sampled responses are buffered so the Server-Timing
+// header can include serialization time; unsampled requests pass straight through.
+@Slf4j
+public class ProfilingFilter extends OncePerRequestFilter {
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public ProfilingFilter(double sampleRate, Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestProfile profile = RequestProfiler.start();
+        ContentCachingResponseWrapper wrapped = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapped);
+        } finally {
+            RequestProfiler.clear();
+            wrapped.setHeader("Server-Timing", profile.toServerTiming());
+
+            if (profile.elapsedNanos() >= slowThresholdNanos) {
+                log.warn("Slow request {} {} -> {}: {}\n  {}",
+                        request.getMethod(), request.getRequestURI(), wrapped.getStatus(),
+                        profile.toServerTiming(), String.join("\n  ", profile.statements()));
+            }
+
+            wrapped.copyBodyToResponse();
+        }
+    }
+}
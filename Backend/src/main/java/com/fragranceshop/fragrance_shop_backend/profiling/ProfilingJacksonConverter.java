@@ -0,0 +1,25 @@
+package com.fragranceshop.fragrance_shop_backend.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+public class ProfilingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    public ProfilingJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        RequestProfiler.enter(Phase.SERIALIZE);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestProfiler.exit(Phase.SERIALIZE);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.fragranceshop.fragrance_shop_backend.profiling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+// Time breakdown for one request. Phases nest (a lazy load inside a mapper is DB time,
+// not MAP time): entering a phase pauses the enclosing one, so the totals never overlap.
+// Only ever touched by the request thread.
+public class RequestProfile {
+
+    private static final int MAX_STATEMENTS = 50;
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final Deque<Phase> active = new ArrayDeque<>();
+    private final List<String> statements = new ArrayList<>();
+    private long markNanos = startNanos;
+    private int statementCount;
+
+    void enter(Phase phase) {
+        charge();
+        active.push(phase);
+    }
+
+    // Pops down to the innermost matching phase, so a phase whose exit was missed (e.g. a result
+    // set that was never closed) can't keep absorbing its parent's time. Unknown phases are ignored.
+    void exit(Phase phase) {
+        if (!active.contains(phase)) {
+            return;
+        }
+        charge();
+        while (active.pop() != phase) {
+            // discard phases nested inside the one being exited
+        }
+    }
+
+    Phase activePhase() {
+        return active.peek();
+    }
+
+    void recordStatement(String sql) {
+        statementCount++;
+        if (sql != null && statements.size() < MAX_STATEMENTS) {
+            statements.add(sql);
+        }
+    }
+
+    private void charge() {
+        long now = System.nanoTime();
+        Phase current = active.peek();
+        if (current != null) {
+            phaseNanos[current.ordinal()] += now - markNanos;
+        }
+        markNanos = now;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public int statementCount() {
+        return statementCount;
+    }
+
+    public List<String> statements() {
+        return statements;
+    }
+
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            header.append(phase.metricName());
+            if (phase == Phase.DB) {
+                header.append(";desc=\"").append(statementCount).append(" queries\"");
+            }
+            header.append(";dur=").append(millis(phaseNanos(phase))).append(", ");
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
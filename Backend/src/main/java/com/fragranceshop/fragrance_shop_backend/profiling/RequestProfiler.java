@@ -0,0 +1,45 @@
+package com.fragranceshop.fragrance_shop_backend.profiling;
+
+// Entry point for instrumentation; every call is a no-op unless the current request is sampled
+public final class RequestProfiler {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private RequestProfiler() {
+    }
+
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    static RequestProfile start() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void enter(Phase phase) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.enter(phase);
+        }
+    }
+
+    public static void exit(Phase phase) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.exit(phase);
+        }
+    }
+
+    public static void recordStatement(String sql) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.recordStatement(sql);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.fragranceshop.fragrance_shop_backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.fragranceshop.fragrance_shop_backend.entity.ChangeEpoch;
+
+public interface ChangeEpochRepository extends JpaRepository<ChangeEpoch, Long> {
+}
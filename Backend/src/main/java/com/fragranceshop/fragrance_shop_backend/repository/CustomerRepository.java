@@ -1,6 +1,14 @@
 package com.fragranceshop.fragrance_shop_backend.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.*;
 import com.fragranceshop.fragrance_shop_backend.entity.Customer;
 
-public interface CustomerRepository extends JpaRepository<Customer, Long> { }
+public interface CustomerRepository extends JpaRepository<Customer, Long> {
+    List<Customer> findByChangeSeqBetweenOrderByChangeSeqAsc(Long from, Long to, Limit limit);
+
+    @Query("select coalesce(max(c.changeSeq), 0) from Customer c")
+    long maxChangeSeq();
+}
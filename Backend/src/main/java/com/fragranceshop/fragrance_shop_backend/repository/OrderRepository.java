@@ -1,9 +1,50 @@
 package com.fragranceshop.fragrance_shop_backend.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.*;
+import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerSpendDTO;
 import com.fragranceshop.fragrance_shop_backend.entity.Order;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
     List<Order> findByCustomerId(Long customerId);
+
+    List<Order> findTop10ByCustomerIdOrderByDateCreatedDesc(Long customerId);
+
+    @Query("select new com.fragranceshop.fragrance_shop_backend.dto.response.CustomerSpendDTO("
+            + "count(o), coalesce(sum(o.totalAmount), 0.0)) from Order o where o.customer.id = :customerId")
+    CustomerSpendDTO spendByCustomerId(@Param("customerId") Long customerId);
+
+    @EntityGraph(attributePaths = {"customer", "products"})
+    List<Order> findByIdIn(Collection<Long> ids);
+
+    // Products are left to batch fetching; fetching a collection would force paging in memory
+    @Override
+    @EntityGraph(attributePaths = {"customer"})
+    Page<Order> findAll(Specification<Order> spec, Pageable pageable);
+
+    // Limited, so products are left to batch fetching like findAll above
+    @EntityGraph(attributePaths = {"customer"})
+    List<Order> findByChangeSeqBetweenOrderByChangeSeqAsc(Long from, Long to, Limit limit);
+
+    @Query("select coalesce(max(o.changeSeq), 0) from Order o")
+    long maxChangeSeq();
+
+    // Order views embed customer name and product names, so renames re-publish the orders
+    @Modifying
+    @Query("update Order o set o.changeSeq = :seq where o.customer.id = :customerId")
+    int touchByCustomerId(@Param("customerId") Long customerId, @Param("seq") Long seq);
+
+    @Modifying
+    @Query("update Order o set o.changeSeq = :seq where o.id in "
+            + "(select o2.id from Order o2 join o2.products p where p.id = :productId)")
+    int touchByProductId(@Param("productId") Long productId, @Param("seq") Long seq);
 }
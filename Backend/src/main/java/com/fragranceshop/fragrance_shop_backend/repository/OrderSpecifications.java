@@ -0,0 +1,54 @@
+package com.fragranceshop.fragrance_shop_backend.repository;
+
+import com.fragranceshop.fragrance_shop_backend.dto.request.OrderFilterDTO;
+import com.fragranceshop.fragrance_shop_backend.entity.Order;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Each predicate lines up with an index declared on Order.
+// Lower bounds (from, minAmount) are inclusive, upper bounds (to, maxAmount) exclusive.
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> matching(OrderFilterDTO filter) {
+        List<Specification<Order>> specs = new ArrayList<>();
+
+        if (filter.getCustomerId() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("customer").get("id"), filter.getCustomerId()));
+        }
+        if (filter.getFrom() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateCreated"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("dateCreated"), filter.getTo()));
+        }
+        if (filter.getMinAmount() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("totalAmount"), filter.getMinAmount()));
+        }
+        if (filter.getMaxAmount() != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("totalAmount"), filter.getMaxAmount()));
+        }
+        if (filter.getProductId() != null) {
+            specs.add(containsProduct(filter.getProductId()));
+        }
+
+        return Specification.allOf(specs);
+    }
+
+    // Subquery on the join table instead of a join, so rows aren't duplicated and paging stays in SQL
+    private static Specification<Order> containsProduct(Long productId) {
+        return (root, query, cb) -> {
+            Subquery<Long> orderIds = query.subquery(Long.class);
+            Root<Order> order = orderIds.from(Order.class);
+            orderIds.select(order.get("id"))
+                    .where(cb.equal(order.join("products").get("id"), productId));
+            return root.get("id").in(orderIds);
+        };
+    }
+}
@@ -1,6 +1,48 @@
 package com.fragranceshop.fragrance_shop_backend.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.*;
 import com.fragranceshop.fragrance_shop_backend.entity.Product;
 
-public interface ProductRepository extends JpaRepository<Product, Long> { }
+public interface ProductRepository extends JpaRepository<Product, Long> {
+    List<Product> findByChangeSeqBetweenOrderByChangeSeqAsc(Long from, Long to, Limit limit);
+
+    @Query("select coalesce(max(p.changeSeq), 0) from Product p")
+    long maxChangeSeq();
+
+    // Bulk updates bypass the persistence context, so flush pending changes first and clear it after
+    // Rows whose price would round to zero are left untouched
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.price = round(p.price * :factor, 2), p.changeSeq = :seq "
+            + "where p.brand = :brand and round(p.price * :factor, 2) > 0")
+    int scalePriceByBrand(@Param("brand") String brand, @Param("factor") double factor, @Param("seq") Long seq);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.price = round(p.price * :factor, 2), p.changeSeq = :seq "
+            + "where p.id in :ids and round(p.price * :factor, 2) > 0")
+    int scalePriceByIds(@Param("ids") Collection<Long> ids, @Param("factor") double factor, @Param("seq") Long seq);
+
+    // Rows that would drop below zero stock are left untouched
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.stockQuantity = p.stockQuantity + :delta, p.changeSeq = :seq "
+            + "where p.brand = :brand and p.stockQuantity + :delta >= 0")
+    int adjustStockByBrand(@Param("brand") String brand, @Param("delta") int delta, @Param("seq") Long seq);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.stockQuantity = p.stockQuantity + :delta, p.changeSeq = :seq "
+            + "where p.id in :ids and p.stockQuantity + :delta >= 0")
+    int adjustStockByIds(@Param("ids") Collection<Long> ids, @Param("delta") int delta, @Param("seq") Long seq);
+
+    // Each bulk operation stamps its own sequence number, so rows without it were skipped
+    @Query("select p.id from Product p where p.brand = :brand "
+            + "and (p.changeSeq is null or p.changeSeq <> :seq) order by p.id")
+    List<Long> findIdsByBrandNotChangedAt(@Param("brand") String brand, @Param("seq") Long seq);
+
+    @Query("select p.id from Product p where p.id in :ids "
+            + "and (p.changeSeq is null or p.changeSeq <> :seq) order by p.id")
+    List<Long> findIdsInNotChangedAt(@Param("ids") Collection<Long> ids, @Param("seq") Long seq);
+}
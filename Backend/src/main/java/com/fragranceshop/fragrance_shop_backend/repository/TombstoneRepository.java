@@ -0,0 +1,16 @@
+package com.fragranceshop.fragrance_shop_backend.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.*;
+import com.fragranceshop.fragrance_shop_backend.entity.Tombstone;
+import com.fragranceshop.fragrance_shop_backend.sync.ChangeEntityType;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    List<Tombstone> findByEntityTypeAndChangeSeqBetweenOrderByChangeSeqAsc(ChangeEntityType entityType, Long from, Long to,
+                                                                        Limit limit);
+
+    @Query("select coalesce(max(t.changeSeq), 0) from Tombstone t")
+    long maxChangeSeq();
+}
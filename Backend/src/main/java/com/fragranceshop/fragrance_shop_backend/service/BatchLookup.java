@@ -0,0 +1,53 @@
+package com.fragranceshop.fragrance_shop_backend.service;
+
+import com.fragranceshop.fragrance_shop_backend.dto.response.BatchResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Resolves an ID set with a single query, returning results in request order plus the IDs not found
+final class BatchLookup {
+
+    static final int MAX_BATCH_SIZE = 200;
+
+    private BatchLookup() {
+    }
+
+    static <E, D> BatchResponseDTO<D> resolve(List<Long> ids,
+                                              Function<List<Long>, List<E>> loader,
+                                              Function<E, Long> idOf,
+                                              Function<E, D> mapper) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.remove(null);
+
+        if (distinctIds.isEmpty()) {
+            throw new BadRequestException("At least one id is required");
+        }
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " ids per request");
+        }
+
+        Map<Long, E> byId = new HashMap<>();
+        for (E entity : loader.apply(distinctIds)) {
+            byId.put(idOf.apply(entity), entity);
+        }
+
+        List<D> items = new ArrayList<>(byId.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            E entity = byId.get(id);
+            if (entity == null) {
+                missingIds.add(id);
+            } else {
+                items.add(mapper.apply(entity));
+            }
+        }
+
+        return new BatchResponseDTO<>(items, missingIds);
+    }
+}
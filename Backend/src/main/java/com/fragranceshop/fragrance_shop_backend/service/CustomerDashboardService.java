@@ -0,0 +1,187 @@
+package com.fragranceshop.fragrance_shop_backend.service;
+
+import com.fragranceshop.fragrance_shop_backend.config.DashboardProperties;
+import com.fragranceshop.fragrance_shop_backend.datasource.ClientContext;
+import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerDashboardDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerSpendDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.OrderSummaryDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.ProductResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.exception.NotFoundException;
+import com.fragranceshop.fragrance_shop_backend.exception.ServiceUnavailableException;
+import com.fragranceshop.fragrance_shop_backend.mappers.CustomerMapper;
+import com.fragranceshop.fragrance_shop_backend.mappers.ProductMapper;
+import com.fragranceshop.fragrance_shop_backend.repository.CustomerRepository;
+import com.fragranceshop.fragrance_shop_backend.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Loads every dashboard section at once, each on its own virtual thread and read-only
+// transaction, so latency follows the slowest section rather than their sum. The threads
+// are scoped to the call: anything still running when the response is built is interrupted,
+// and the call only returns once every section has finished, so no connection outlives it.
+// Each dashboard holds up to SECTIONS replica connections, so only maxConcurrent run at once.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerDashboardService {
+
+    private static final int PRODUCT_LIMIT = 20;
+    private static final int SECTIONS = 4;
+
+    private final CustomerRepository customerRepository;
+    private final OrderRepository orderRepository;
+    private final CustomerMapper customerMapper;
+    private final ProductMapper productMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final DashboardProperties properties;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(properties.getMaxConcurrent());
+    }
+
+    public CustomerDashboardDTO getDashboard(Long id) {
+        if (!tryAcquirePermit()) {
+            throw new ServiceUnavailableException("Too many dashboards loading, try again shortly");
+        }
+        try {
+            return load(id);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean tryAcquirePermit() {
+        try {
+            return permits.tryAcquire(properties.getBranchTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Dashboard request interrupted");
+        }
+    }
+
+    private CustomerDashboardDTO load(Long id) {
+        // close() waits for every section, so cancel stragglers first and then join them
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> sections = new ArrayList<>(SECTIONS);
+            try {
+                return collect(id, scope, sections);
+            } finally {
+                sections.forEach(section -> section.cancel(true));
+            }
+        }
+    }
+
+    private CustomerDashboardDTO collect(Long id, ExecutorService scope, List<Future<?>> sections) {
+        Future<CustomerResponseDTO> customer = fork(scope, sections, () -> customerRepository.findById(id)
+                .map(customerMapper::toDTO)
+                .orElseThrow(() -> new NotFoundException("Customer not found")));
+
+        Future<List<OrderSummaryDTO>> recentOrders = fork(scope, sections, () -> orderRepository
+                .findTop10ByCustomerIdOrderByDateCreatedDesc(id)
+                .stream()
+                .map(o -> new OrderSummaryDTO(o.getId(), o.getTotalAmount(), o.getDateCreated()))
+                .toList());
+
+        Future<CustomerSpendDTO> spend = fork(scope, sections, () -> orderRepository.spendByCustomerId(id));
+
+        // Products of the same recent orders, newest order first; the products themselves are
+        // batch fetched in one query inside the section's transaction
+        Future<List<ProductResponseDTO>> products = fork(scope, sections, () -> orderRepository
+                .findTop10ByCustomerIdOrderByDateCreatedDesc(id)
+                .stream()
+                .flatMap(o -> o.getProducts().stream())
+                .distinct()
+                .limit(PRODUCT_LIMIT)
+                .map(productMapper::toDTO)
+                .toList());
+
+        // All sections started together, so one deadline gives each the full branch timeout
+        long deadline = System.nanoTime() + properties.getBranchTimeout().toNanos();
+        List<String> unavailable = new ArrayList<>();
+
+        return new CustomerDashboardDTO(
+                required(customer, deadline),
+                orFallback("recentOrders", recentOrders, deadline, List.of(), unavailable),
+                orFallback("spend", spend, deadline, null, unavailable),
+                orFallback("products", products, deadline, List.of(), unavailable),
+                unavailable
+        );
+    }
+
+    private <T> Future<T> fork(ExecutorService scope, List<Future<?>> sections, Supplier<T> section) {
+        // Carry the client id over so read-your-writes routing still applies on the new thread
+        String clientId = ClientContext.current();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        // Backstop for the query itself; the response never waits past the branch timeout
+        transaction.setTimeout((int) Math.max(1, properties.getBranchTimeout().toSeconds() + 1));
+
+        Future<T> future = scope.submit(() -> {
+            ClientContext.set(clientId);
+            try {
+                return transaction.execute(status -> section.get());
+            } finally {
+                ClientContext.clear();
+            }
+        });
+        sections.add(future);
+        return future;
+    }
+
+    // The customer is the one section the dashboard can't do without
+    private static <T> T required(Future<T> section, long deadline) {
+        try {
+            return await(section, deadline);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            section.cancel(true);
+            throw new ServiceUnavailableException("Customer lookup timed out");
+        }
+    }
+
+    private static <T> T orFallback(String name, Future<T> section, long deadline,
+                                    T fallback, List<String> unavailable) {
+        try {
+            return await(section, deadline);
+        } catch (ExecutionException | TimeoutException e) {
+            section.cancel(true);
+            log.warn("Dashboard section '{}' unavailable: {}", name, e.toString());
+            unavailable.add(name);
+            return fallback;
+        }
+    }
+
+    private static <T> T await(Future<T> section, long deadline) throws ExecutionException, TimeoutException {
+        try {
+            return section.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            section.cancel(true);
+            throw new ServiceUnavailableException("Dashboard request interrupted");
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.fragranceshop.fragrance_shop_backend.service;
 
 import com.fragranceshop.fragrance_shop_backend.dto.request.CustomerRequestDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.BatchResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerWithOrdersResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.DeltaResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.OrderResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.OrderSummaryDTO;
 import com.fragranceshop.fragrance_shop_backend.entity.Customer;
@@ -13,19 +15,25 @@ import com.fragranceshop.fragrance_shop_backend.mappers.CustomerMapper;
 import com.fragranceshop.fragrance_shop_backend.mappers.OrderMapper;
 import com.fragranceshop.fragrance_shop_backend.repository.CustomerRepository;
 import com.fragranceshop.fragrance_shop_backend.repository.OrderRepository;
+import com.fragranceshop.fragrance_shop_backend.sync.ChangeEntityType;
+import com.fragranceshop.fragrance_shop_backend.sync.ChangeTracker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
     private final OrderRepository orderRepository;
     private final CustomerMapper customerMapper;
     private final OrderMapper orderMapper;
+    private final ChangeTracker changes;
 
     // GET ALL
     public List<CustomerResponseDTO> getAll() {
@@ -42,21 +50,44 @@ public class CustomerService {
         return customerMapper.toDTO(customer);
     }
 
+    // GET BY IDS
+    public BatchResponseDTO<CustomerResponseDTO> getByIds(List<Long> ids) {
+        return BatchLookup.resolve(ids, customerRepository::findAllById,
+                Customer::getId, customerMapper::toDTO);
+    }
+
+    // GET CHANGED SINCE (delta sync)
+    public DeltaResponseDTO<CustomerResponseDTO> getChangedSince(String since, int limit) {
+        return changes.delta(ChangeEntityType.CUSTOMER, since, limit,
+                customerRepository::findByChangeSeqBetweenOrderByChangeSeqAsc, Customer::getChangeSeq,
+                customerMapper::toDTO);
+    }
+
     // CREATE
+    @Transactional
     public CustomerResponseDTO create(CustomerRequestDTO dto) {
         Customer customer = customerMapper.toEntity(dto);
+        customer.setChangeSeq(changes.next());
         Customer saved = customerRepository.save(customer);
         return customerMapper.toDTO(saved);
     }
 
     // UPDATE
+    @Transactional
     public CustomerResponseDTO update(Long id, CustomerRequestDTO dto) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
 
+        long seq = changes.next();
+        if (!Objects.equals(customer.getFirstName(), dto.getFirstName())
+                || !Objects.equals(customer.getLastName(), dto.getLastName())) {
+            orderRepository.touchByCustomerId(id, seq);
+        }
+
         customer.setFirstName(dto.getFirstName());
         customer.setLastName(dto.getLastName());
         customer.setEmail(dto.getEmail());
+        customer.setChangeSeq(seq);
 
 
         Customer updated = customerRepository.save(customer);
@@ -64,6 +95,7 @@ public class CustomerService {
     }
 
     // DELETE
+    @Transactional
     public void delete(Long id) {
 
         if (!customerRepository.existsById(id)) {
@@ -75,6 +107,7 @@ public class CustomerService {
         }
 
         customerRepository.deleteById(id);
+        changes.recordDelete(ChangeEntityType.CUSTOMER, id);
     }
 
 
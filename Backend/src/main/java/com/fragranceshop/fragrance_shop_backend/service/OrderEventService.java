@@ -0,0 +1,66 @@
+package com.fragranceshop.fragrance_shop_backend.service;
+
+import com.fragranceshop.fragrance_shop_backend.dto.response.OrderEventsResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.exception.BadRequestException;
+import com.fragranceshop.fragrance_shop_backend.journal.InvalidJournalOffsetException;
+import com.fragranceshop.fragrance_shop_backend.journal.JournalEntry;
+import com.fragranceshop.fragrance_shop_backend.journal.OrderEvent;
+import com.fragranceshop.fragrance_shop_backend.journal.OrderJournal;
+import com.fragranceshop.fragrance_shop_backend.journal.ReplayResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderEventService {
+
+    static final int MAX_EVENTS_PER_READ = 1000;
+
+    private final OrderJournal journal;
+
+    // Journals the event once the surrounding transaction commits, so rolled back changes never
+    // show up and the database transaction never waits on the journal
+    public void recordAfterCommit(OrderEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(event);
+            }
+        });
+    }
+
+    private void append(OrderEvent event) {
+        try {
+            journal.append(event);
+        } catch (RuntimeException e) {
+            // The order change is already committed; don't turn a journal failure into a failed request
+            log.error("Failed to journal {} for order {}", event.type(), event.orderId(), e);
+        }
+    }
+
+    // Replays the journal from an offset, e.g. to rebuild a derived view in pages
+    public OrderEventsResponseDTO getEvents(long fromOffset, int limit) {
+        if (limit < 1 || limit > MAX_EVENTS_PER_READ) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_EVENTS_PER_READ);
+        }
+        List<JournalEntry> events = new ArrayList<>();
+        ReplayResult result;
+        try {
+            result = journal.replay(fromOffset, limit, events::add);
+        } catch (InvalidJournalOffsetException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return new OrderEventsResponseDTO(events, result.nextOffset(), journal.startOffset(), result.truncated());
+    }
+}
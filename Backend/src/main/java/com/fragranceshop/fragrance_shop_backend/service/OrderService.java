@@ -1,31 +1,51 @@
 package com.fragranceshop.fragrance_shop_backend.service;
 
+import com.fragranceshop.fragrance_shop_backend.dto.request.OrderFilterDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.request.OrderRequestDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.BatchResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerSummaryDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.DeltaResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.OrderResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.OrderWithCustomerResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.PageResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.entity.Customer;
 import com.fragranceshop.fragrance_shop_backend.entity.Order;
 import com.fragranceshop.fragrance_shop_backend.entity.Product;
+import com.fragranceshop.fragrance_shop_backend.exception.BadRequestException;
 import com.fragranceshop.fragrance_shop_backend.exception.NotFoundException;
+import com.fragranceshop.fragrance_shop_backend.journal.OrderEvent;
+import com.fragranceshop.fragrance_shop_backend.journal.OrderEventType;
 import com.fragranceshop.fragrance_shop_backend.mappers.OrderMapper;
 import com.fragranceshop.fragrance_shop_backend.repository.CustomerRepository;
 import com.fragranceshop.fragrance_shop_backend.repository.OrderRepository;
+import com.fragranceshop.fragrance_shop_backend.repository.OrderSpecifications;
 import com.fragranceshop.fragrance_shop_backend.repository.ProductRepository;
+import com.fragranceshop.fragrance_shop_backend.sync.ChangeEntityType;
+import com.fragranceshop.fragrance_shop_backend.sync.ChangeTracker;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class OrderService {
 
+    // Search results are only sortable by columns the search indexes cover
+    private static final List<String> SEARCH_SORT_FIELDS = List.of("dateCreated", "totalAmount");
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
     private final OrderMapper orderMapper;
+    private final ChangeTracker changes;
+    private final OrderEventService events;
 
     // GET ALL
     public List<OrderResponseDTO> getAll() {
@@ -42,7 +62,48 @@ public class OrderService {
         return orderMapper.toDTO(order);
     }
 
+    // GET BY IDS (customer and products fetched in the same query)
+    public BatchResponseDTO<OrderResponseDTO> getByIds(List<Long> ids) {
+        return BatchLookup.resolve(ids, orderRepository::findByIdIn, Order::getId, orderMapper::toDTO);
+    }
+
+    // GET CHANGED SINCE (delta sync)
+    public DeltaResponseDTO<OrderResponseDTO> getChangedSince(String since, int limit) {
+        return changes.delta(ChangeEntityType.ORDER, since, limit,
+                orderRepository::findByChangeSeqBetweenOrderByChangeSeqAsc, Order::getChangeSeq, orderMapper::toDTO);
+    }
+
+    // SEARCH (any combination of customer, date range, amount range, product)
+    public PageResponseDTO<OrderResponseDTO> search(OrderFilterDTO filter, Pageable pageable) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null
+                && filter.getMinAmount() >= filter.getMaxAmount()) {
+            throw new BadRequestException("'minAmount' must be less than 'maxAmount'");
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SEARCH_SORT_FIELDS.contains(order.getProperty())) {
+                throw new BadRequestException("Cannot sort by '" + order.getProperty()
+                        + "', allowed: " + String.join(", ", SEARCH_SORT_FIELDS));
+            }
+        }
+
+        Page<OrderResponseDTO> page = orderRepository
+                .findAll(OrderSpecifications.matching(filter), pageable)
+                .map(orderMapper::toDTO);
+
+        return new PageResponseDTO<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages()
+        );
+    }
+
     // CREATE ORDER (POST)
+    @Transactional
     public OrderResponseDTO place(OrderRequestDTO dto) {
 
         // Find customer
@@ -66,12 +127,15 @@ public class OrderService {
         order.setProducts(products);
         order.setTotalAmount(total);
         order.setDateCreated(LocalDateTime.now());
+        order.setChangeSeq(changes.next());
 
         Order saved = orderRepository.save(order);
+        events.recordAfterCommit(OrderEvent.of(OrderEventType.PLACED, saved));
         return orderMapper.toDTO(saved);
     }
 
     // UPDATE ORDER (PUT)
+    @Transactional
     public OrderResponseDTO update(Long id, OrderRequestDTO dto) {
 
         Order order = orderRepository.findById(id)
@@ -94,17 +158,22 @@ public class OrderService {
                 .mapToDouble(Product::getPrice)
                 .sum();
         order.setTotalAmount(total);
+        order.setChangeSeq(changes.next());
 
         Order updated = orderRepository.save(order);
+        events.recordAfterCommit(OrderEvent.of(OrderEventType.UPDATED, updated));
         return orderMapper.toDTO(updated);
     }
 
     // DELETE ORDER
+    @Transactional
     public void delete(Long id) {
         if (!orderRepository.existsById(id)) {
             throw new NotFoundException("Order not found");
         }
         orderRepository.deleteById(id);
+        changes.recordDelete(ChangeEntityType.ORDER, id);
+        events.recordAfterCommit(OrderEvent.deleted(id));
     }
 
     public OrderWithCustomerResponseDTO getOrderSummary(Long id) {
@@ -1,17 +1,37 @@
 package com.fragranceshop.fragrance_shop_backend.service;
 
 import com.fragranceshop.fragrance_shop_backend.entity.Product;
+import com.fragranceshop.fragrance_shop_backend.dto.request.ProductBulkUpdateRequestDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.request.ProductRequestDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.BatchResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.DeltaResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.ProductBulkUpdateResponseDTO;
 import com.fragranceshop.fragrance_shop_backend.dto.response.ProductResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.mappers.ProductMapper;
+import com.fragranceshop.fragrance_shop_backend.repository.OrderRepository;
 import com.fragranceshop.fragrance_shop_backend.repository.ProductRepository;
+import com.fragranceshop.fragrance_shop_backend.exception.BadRequestException;
 import com.fragranceshop.fragrance_shop_backend.exception.NotFoundException;
+import com.fragranceshop.fragrance_shop_backend.sync.ChangeEntityType;
+import com.fragranceshop.fragrance_shop_backend.sync.ChangeTracker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 
 @Service @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ProductService {
+    static final int MAX_BULK_IDS = 50_000;
+    static final int BULK_CHUNK_SIZE = 1_000;
+
     private final ProductRepository repository;
+    private final ProductMapper mapper;
+    private final OrderRepository orderRepository;
+    private final ChangeTracker changes;
 
     public List<ProductResponseDTO> getAll() {
         return repository.findAll().stream()
@@ -27,34 +47,114 @@ public class ProductService {
                 p.getPrice(), p.getStockQuantity(), p.getConcentration());
     }
 
+    public BatchResponseDTO<ProductResponseDTO> getByIds(List<Long> ids) {
+        return BatchLookup.resolve(ids, repository::findAllById, Product::getId, mapper::toDTO);
+    }
+
+    public DeltaResponseDTO<ProductResponseDTO> getChangedSince(String since, int limit) {
+        return changes.delta(ChangeEntityType.PRODUCT, since, limit,
+                repository::findByChangeSeqBetweenOrderByChangeSeqAsc, Product::getChangeSeq, mapper::toDTO);
+    }
+
+    @Transactional
     public ProductResponseDTO create(ProductRequestDTO dto) {
         Product p = new Product(null, dto.getName(), dto.getBrand(),
                 dto.getPrice(), dto.getStockQuantity(),
-                dto.getDescription(), dto.getConcentration());
-        repository.save(p);
-        return getById(p.getId());
+                dto.getDescription(), dto.getConcentration(), changes.next());
+        return mapper.toDTO(repository.save(p));
     }
 
+    @Transactional
     public ProductResponseDTO update(Long id, ProductRequestDTO dto) {
         Product p = repository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Product not found"));
+        long seq = changes.next();
+        if (!Objects.equals(p.getName(), dto.getName())) {
+            orderRepository.touchByProductId(id, seq);
+        }
         p.setName(dto.getName());
         p.setBrand(dto.getBrand());
         p.setPrice(dto.getPrice());
         p.setStockQuantity(dto.getStockQuantity());
         p.setDescription(dto.getDescription());
         p.setConcentration(dto.getConcentration());
-        repository.save(p);
-        return getById(p.getId());
+        p.setChangeSeq(seq);
+        return mapper.toDTO(p);
     }
 
 
 
+    // Set-based price/stock changes for a brand or an ID list; one UPDATE per operation
+    // (per 1000 IDs for ID lists) instead of a read and write per product.
+    // Each operation gets its own sequence number, which is how rows it skipped are found afterwards
+    @Transactional
+    public ProductBulkUpdateResponseDTO bulkUpdate(ProductBulkUpdateRequestDTO dto) {
+        boolean byBrand = dto.getBrand() != null && !dto.getBrand().isBlank();
+        boolean byIds = dto.getIds() != null && !dto.getIds().isEmpty();
+        if (byBrand == byIds) {
+            throw new BadRequestException("Specify exactly one of 'brand' or 'ids'");
+        }
+        if (dto.getPricePercent() == null && dto.getStockDelta() == null) {
+            throw new BadRequestException("Specify 'pricePercent' and/or 'stockDelta'");
+        }
+
+        List<List<Long>> idChunks = byIds ? chunk(dto.getIds()) : List.of();
+        int pricesUpdated = 0;
+        int stockUpdated = 0;
+        List<Long> priceSkipped = new ArrayList<>();
+        List<Long> stockSkipped = new ArrayList<>();
+
+        if (dto.getPricePercent() != null) {
+            double factor = 1 + dto.getPricePercent() / 100;
+            long seq = changes.next();
+            if (byBrand) {
+                pricesUpdated = repository.scalePriceByBrand(dto.getBrand(), factor, seq);
+                priceSkipped.addAll(repository.findIdsByBrandNotChangedAt(dto.getBrand(), seq));
+            } else {
+                for (List<Long> ids : idChunks) {
+                    pricesUpdated += repository.scalePriceByIds(ids, factor, seq);
+                    priceSkipped.addAll(repository.findIdsInNotChangedAt(ids, seq));
+                }
+            }
+        }
+
+        if (dto.getStockDelta() != null) {
+            int delta = dto.getStockDelta();
+            long seq = changes.next();
+            if (byBrand) {
+                stockUpdated = repository.adjustStockByBrand(dto.getBrand(), delta, seq);
+                stockSkipped.addAll(repository.findIdsByBrandNotChangedAt(dto.getBrand(), seq));
+            } else {
+                for (List<Long> ids : idChunks) {
+                    stockUpdated += repository.adjustStockByIds(ids, delta, seq);
+                    stockSkipped.addAll(repository.findIdsInNotChangedAt(ids, seq));
+                }
+            }
+        }
+
+        return new ProductBulkUpdateResponseDTO(pricesUpdated, priceSkipped, stockUpdated, stockSkipped);
+    }
+
+    private static List<List<Long>> chunk(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.remove(null);
+        if (distinctIds.size() > MAX_BULK_IDS) {
+            throw new BadRequestException("At most " + MAX_BULK_IDS + " ids per bulk update");
+        }
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i += BULK_CHUNK_SIZE) {
+            chunks.add(distinctIds.subList(i, Math.min(i + BULK_CHUNK_SIZE, distinctIds.size())));
+        }
+        return chunks;
+    }
+
+    @Transactional
     public void delete(Long id) {
         if (!repository.existsById(id)) {
             throw new NotFoundException("Product not found");
         }
         repository.deleteById(id);
+        changes.recordDelete(ChangeEntityType.PRODUCT, id);
     }
 
 }
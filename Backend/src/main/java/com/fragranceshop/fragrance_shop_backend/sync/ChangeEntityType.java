@@ -0,0 +1,7 @@
+package com.fragranceshop.fragrance_shop_backend.sync;
+
+public enum ChangeEntityType {
+    PRODUCT,
+    CUSTOMER,
+    ORDER
+}
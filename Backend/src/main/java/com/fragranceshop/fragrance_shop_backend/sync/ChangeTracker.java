@@ -0,0 +1,198 @@
+package com.fragranceshop.fragrance_shop_backend.sync;
+
+import com.fragranceshop.fragrance_shop_backend.datasource.PrimaryReads;
+import com.fragranceshop.fragrance_shop_backend.dto.response.DeltaResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.entity.ChangeEpoch;
+import com.fragranceshop.fragrance_shop_backend.entity.Tombstone;
+import com.fragranceshop.fragrance_shop_backend.exception.BadRequestException;
+import com.fragranceshop.fragrance_shop_backend.repository.ChangeEpochRepository;
+import com.fragranceshop.fragrance_shop_backend.repository.CustomerRepository;
+import com.fragranceshop.fragrance_shop_backend.repository.OrderRepository;
+import com.fragranceshop.fragrance_shop_backend.repository.ProductRepository;
+import com.fragranceshop.fragrance_shop_backend.repository.TombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// Hands out the change sequence shared by products, customers, orders and tombstones.
+// A sequence number is "in flight" until its transaction completes; watermarks never pass
+// the oldest in-flight number, so a client can't skip a change that commits late.
+// Sequence numbers and in-flight tracking live in this JVM, so the backend must run as a single
+// instance: a second instance would hand out overlapping numbers and never see the other's
+// in-flight writes. Scaling out needs a database sequence plus a commit-ordered watermark.
+// Tokens handed to clients are "<epoch>:<seq>", where the epoch is stored with the data, so a
+// token from another or a recreated database is recognised even once its numbers are reused.
+@Component
+@RequiredArgsConstructor
+public class ChangeTracker {
+
+    public static final int MAX_DELTA_LIMIT = 1000;
+
+    // Token a client without any data starts from
+    public static final String INITIAL_TOKEN = "0";
+
+    private static final long EPOCH_ROW = 1L;
+
+    private final ProductRepository productRepository;
+    private final CustomerRepository customerRepository;
+    private final OrderRepository orderRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final ChangeEpochRepository epochRepository;
+
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private long lastAllocated;
+    private String epoch;
+
+    @PostConstruct
+    void init() {
+        epoch = PrimaryReads.call(() -> epochRepository.findById(EPOCH_ROW)
+                .orElseGet(() -> epochRepository.save(new ChangeEpoch(EPOCH_ROW, newEpoch())))
+                .getEpoch());
+        lastAllocated = PrimaryReads.call(() -> Math.max(
+                Math.max(productRepository.maxChangeSeq(), customerRepository.maxChangeSeq()),
+                Math.max(orderRepository.maxChangeSeq(), tombstoneRepository.maxChangeSeq())));
+    }
+
+    // Must be called inside the transaction that writes the sequence number
+    public long next() {
+        long seq;
+        synchronized (this) {
+            seq = ++lastAllocated;
+            inFlight.add(seq);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(seq);
+                }
+            });
+        } else {
+            complete(seq);
+        }
+        return seq;
+    }
+
+    public void recordDelete(ChangeEntityType type, Long entityId) {
+        tombstoneRepository.save(new Tombstone(null, type, entityId, next()));
+    }
+
+    private synchronized void complete(long seq) {
+        inFlight.remove(seq);
+    }
+
+    // Highest sequence number below which every change has committed
+    private synchronized long watermark() {
+        return inFlight.isEmpty() ? lastAllocated : inFlight.first() - 1;
+    }
+
+    private synchronized long lastAllocated() {
+        return lastAllocated;
+    }
+
+    // Loads rows with changeSeq in [from, to], ordered by changeSeq
+    @FunctionalInterface
+    public interface ChangedBetween<E> {
+        List<E> load(Long from, Long to, Limit limit);
+    }
+
+    private static String newEpoch() {
+        return Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+    }
+
+    private String token(long seq) {
+        return epoch + ":" + seq;
+    }
+
+    // Sequence number the token stands for, or -1 if it belongs to another database or is malformed
+    private long parse(String token) {
+        if (token == null || token.isBlank() || token.equals(INITIAL_TOKEN)) {
+            return 0;
+        }
+        int separator = token.lastIndexOf(':');
+        if (separator < 0 || !token.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            long seq = Long.parseLong(token.substring(separator + 1));
+            // Numbers this database never handed out can't come from it
+            return seq < 0 || seq > lastAllocated() ? -1 : seq;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Up to `limit` changes after `since`, read from primary so replica lag can't hide committed rows.
+    // Rows sharing a sequence number (e.g. a bulk update) are never split across pages, so a page
+    // can exceed the limit when one change touched more rows than that. The returned watermark is
+    // the last sequence number delivered; hasMore tells the client to ask again straight away.
+    public <E, D> DeltaResponseDTO<D> delta(ChangeEntityType type,
+                                           String since,
+                                           int limit,
+                                           ChangedBetween<E> changedBetween,
+                                           ToLongFunction<E> changeSeq,
+                                           Function<E, D> mapper) {
+        if (limit < 1 || limit > MAX_DELTA_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_DELTA_LIMIT);
+        }
+        return PrimaryReads.call(() -> {
+            long watermark = watermark();
+
+            // A token from another or a recreated database: the client must drop its copy
+            long parsed = parse(since);
+            boolean reset = parsed < 0;
+            long from = reset ? 0 : parsed;
+            if (from >= watermark) {
+                return new DeltaResponseDTO<D>(List.of(), List.of(), token(from), reset, false);
+            }
+
+            // One extra row from each side shows whether anything is left beyond this page
+            List<E> rows = changedBetween.load(from + 1, watermark, Limit.of(limit + 1));
+            List<Tombstone> tombstones = tombstoneRepository
+                    .findByEntityTypeAndChangeSeqBetweenOrderByChangeSeqAsc(type, from + 1, watermark, Limit.of(limit + 1));
+
+            List<Long> seqs = new ArrayList<>(rows.size() + tombstones.size());
+            rows.forEach(row -> seqs.add(changeSeq.applyAsLong(row)));
+            tombstones.forEach(tombstone -> seqs.add(tombstone.getChangeSeq()));
+            seqs.sort(null);
+
+            if (seqs.size() <= limit) {
+                return page(rows, tombstones, mapper, watermark, reset, false);
+            }
+
+            // The first change that doesn't fit; everything before it is complete and goes out now
+            long cut = seqs.get(limit);
+            if (seqs.get(0) == cut) {
+                // A single change larger than the page: send all of it rather than never progressing
+                return page(changedBetween.load(cut, cut, Limit.unlimited()),
+                        tombstoneRepository.findByEntityTypeAndChangeSeqBetweenOrderByChangeSeqAsc(
+                                type, cut, cut, Limit.unlimited()),
+                        mapper, cut, reset, cut < watermark);
+            }
+
+            long lastDelivered = seqs.stream().mapToLong(Long::longValue).filter(seq -> seq < cut).max().orElseThrow();
+            return page(rows.stream().filter(row -> changeSeq.applyAsLong(row) < cut).toList(),
+                    tombstones.stream().filter(tombstone -> tombstone.getChangeSeq() < cut).toList(),
+                    mapper, lastDelivered, reset, true);
+        });
+    }
+
+    private <E, D> DeltaResponseDTO<D> page(List<E> rows, List<Tombstone> tombstones, Function<E, D> mapper,
+                                            long watermark, boolean reset, boolean hasMore) {
+        List<D> changed = rows.stream().map(mapper).toList();
+        List<Long> deletedIds = tombstones.stream().map(Tombstone::getEntityId).toList();
+        return new DeltaResponseDTO<>(changed, deletedIds, token(watermark), reset, hasMore);
+    }
+}
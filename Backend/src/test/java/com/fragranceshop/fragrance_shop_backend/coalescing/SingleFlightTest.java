@@ -0,0 +1,94 @@
+package com.fragranceshop.fragrance_shop_backend.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallsForTheSameKeyShareOneLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", new SimpleMeterRegistry(),
+                () -> false, Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute(1L, () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "value";
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flight.execute(1L, () -> {
+            loads.incrementAndGet();
+            return "own load";
+        }));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void bypassedCallsNeverJoinAnotherLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", new SimpleMeterRegistry(),
+                () -> Thread.currentThread().getName().startsWith("sticky"), Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute(1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "shared";
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<String> sticky = new CompletableFuture<>();
+        Thread thread = new Thread(() -> sticky.complete(flight.execute(1L, () -> "fresh")), "sticky-client");
+        thread.start();
+
+        assertThat(sticky.get(5, TimeUnit.SECONDS)).isEqualTo("fresh");
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("shared");
+    }
+
+    @Test
+    void followerLoadsItselfWhenTheLeaderIsStuck() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", new SimpleMeterRegistry(),
+                () -> false, Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute(1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "late";
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+
+        assertThat(flight.execute(1L, () -> "own load")).isEqualTo("own load");
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("late");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
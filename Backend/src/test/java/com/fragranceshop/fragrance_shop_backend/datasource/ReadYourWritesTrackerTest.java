@@ -0,0 +1,30 @@
+package com.fragranceshop.fragrance_shop_backend.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesTrackerTest {
+
+    @Test
+    void clientIsStickyOnlyWithinTolerance() throws InterruptedException {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(100));
+
+        tracker.recordWrite("a");
+        assertThat(tracker.isSticky("a")).isTrue();
+        assertThat(tracker.isSticky("b")).isFalse();
+
+        Thread.sleep(150);
+        assertThat(tracker.isSticky("a")).isFalse();
+    }
+
+    @Test
+    void anonymousClientsAreNeverSticky() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+
+        tracker.recordWrite(null);
+        assertThat(tracker.isSticky(null)).isFalse();
+    }
+}
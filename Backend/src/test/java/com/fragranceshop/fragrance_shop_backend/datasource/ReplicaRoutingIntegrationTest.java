@@ -0,0 +1,107 @@
+package com.fragranceshop.fragrance_shop_backend.datasource;
+
+import com.fragranceshop.fragrance_shop_backend.dto.request.ProductRequestDTO;
+import com.fragranceshop.fragrance_shop_backend.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    private static final long PRODUCT_ID = 1000L;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void seedMarkerRows() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        replica.execute("create table if not exists product ("
+                + "id bigint primary key, name varchar(255), brand varchar(255), price float(53), "
+                + "stock_quantity integer, description varchar(255), concentration varchar(255), "
+                + "change_seq bigint)");
+
+        primary.update("delete from product where id = ?", PRODUCT_ID);
+        replica.update("delete from product where id = ?", PRODUCT_ID);
+        insertMarker(primary, "on-primary");
+        insertMarker(replica, "on-replica");
+    }
+
+    @AfterEach
+    void clearClient() {
+        ClientContext.clear();
+    }
+
+    @Test
+    void readOnlyMethodsHitTheReplica() {
+        assertThat(productService.getById(PRODUCT_ID).getName()).isEqualTo("on-replica");
+    }
+
+    @Test
+    void writesHitThePrimary() {
+        productService.update(PRODUCT_ID, request("renamed"));
+
+        assertThat(nameIn(primary)).isEqualTo("renamed");
+        assertThat(nameIn(replica)).isEqualTo("on-replica");
+    }
+
+    @Test
+    void readsStayOnPrimaryForTheWritingClientWithinLagTolerance() {
+        ClientContext.set("writer");
+        productService.update(PRODUCT_ID, request("just-written"));
+
+        assertThat(productService.getById(PRODUCT_ID).getName()).isEqualTo("just-written");
+
+        ClientContext.set("someone-else");
+        assertThat(productService.getById(PRODUCT_ID).getName()).isEqualTo("on-replica");
+    }
+
+    @Test
+    void requestsWithoutClientIdAreNotPinned() {
+        productService.update(PRODUCT_ID, request("anonymous-write"));
+
+        assertThat(productService.getById(PRODUCT_ID).getName()).isEqualTo("on-replica");
+    }
+
+    private static void insertMarker(JdbcTemplate db, String name) {
+        db.update("insert into product (id, name, brand, price, stock_quantity, change_seq) "
+                + "values (?, ?, 'Marker', 10.0, 5, 0)", PRODUCT_ID, name);
+    }
+
+    private static String nameIn(JdbcTemplate db) {
+        return db.queryForObject("select name from product where id = ?", String.class, PRODUCT_ID);
+    }
+
+    private static ProductRequestDTO request(String name) {
+        ProductRequestDTO dto = new ProductRequestDTO();
+        dto.setName(name);
+        dto.setBrand("Marker");
+        dto.setPrice(10.0);
+        dto.setStockQuantity(5);
+        return dto;
+    }
+}
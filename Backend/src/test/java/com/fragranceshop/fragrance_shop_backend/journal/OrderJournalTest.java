@@ -0,0 +1,264 @@
+package com.fragranceshop.fragrance_shop_backend.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderJournalTest {
+
+    // 8 byte header + 37 fixed + 2 product ids
+    private static final int RECORD = 61;
+
+    @TempDir
+    Path directory;
+
+    private final List<OrderJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() {
+        opened.forEach(OrderJournal::close);
+    }
+
+    @Test
+    void replaysEventsAcrossSegments() {
+        OrderJournal journal = open(2 * RECORD, 16);
+        for (long id = 1; id <= 5; id++) {
+            assertThat(journal.append(event(id))).isEqualTo((id - 1) * RECORD);
+        }
+
+        List<JournalEntry> entries = new ArrayList<>();
+        ReplayResult result = journal.replay(0, 100, entries::add);
+
+        assertThat(entries).extracting(entry -> entry.event().orderId()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(entries).extracting(JournalEntry::offset).containsExactly(0L, 61L, 122L, 183L, 244L);
+        assertThat(entries.get(2).event()).isEqualTo(event(3));
+        assertThat(result.nextOffset()).isEqualTo(journal.endOffset());
+        assertThat(result.truncated()).isFalse();
+    }
+
+    @Test
+    void pagesResumeAtTheNextSegmentOnceOneIsExhausted() {
+        OrderJournal journal = open(2 * RECORD, 16);
+        for (long id = 1; id <= 3; id++) {
+            journal.append(event(id));
+        }
+
+        ReplayResult first = journal.replay(0, 2, entry -> { });
+        assertThat(first.nextOffset()).isEqualTo(2 * RECORD);
+
+        List<JournalEntry> rest = new ArrayList<>();
+        journal.replay(first.nextOffset(), 2, rest::add);
+        assertThat(rest).extracting(entry -> entry.event().orderId()).containsExactly(3L);
+    }
+
+    @Test
+    void rollsWhenARecordEndsExactlyOnTheSegmentBoundary() throws IOException {
+        OrderJournal journal = open(2 * RECORD, 16);
+        journal.append(event(1));
+        journal.append(event(2));
+        assertThat(journal.endOffset()).isEqualTo(2 * RECORD);
+
+        // Reading at the very end of a full segment is valid and returns nothing yet
+        List<JournalEntry> none = new ArrayList<>();
+        assertThat(journal.replay(2 * RECORD, 10, none::add).nextOffset()).isEqualTo(2 * RECORD);
+        assertThat(none).isEmpty();
+
+        assertThat(journal.append(event(3))).isEqualTo(2 * RECORD);
+        assertThat(segmentFiles()).containsExactly("00000000000000000000.log", "00000000000000000122.log");
+
+        List<JournalEntry> after = new ArrayList<>();
+        journal.replay(2 * RECORD, 10, after::add);
+        assertThat(after).extracting(entry -> entry.event().orderId()).containsExactly(3L);
+    }
+
+    @Test
+    void reopensAFullSegmentAndRollsOnTheNextAppend() {
+        OrderJournal journal = open(2 * RECORD, 16);
+        journal.append(event(1));
+        journal.append(event(2));
+        close(journal);
+
+        OrderJournal reopened = open(2 * RECORD, 16);
+        assertThat(reopened.endOffset()).isEqualTo(2 * RECORD);
+        assertThat(reopened.append(event(3))).isEqualTo(2 * RECORD);
+        assertThat(replayAll(reopened)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void recoveryDropsARecordWithABadChecksum() throws IOException {
+        OrderJournal journal = open(1024, 16);
+        journal.append(event(1));
+        journal.append(event(2));
+        journal.append(event(3));
+        close(journal);
+
+        // Flip one payload byte of the last record
+        Path segment = directory.resolve("00000000000000000000.log");
+        int position = 2 * RECORD + 20;
+        byte original = read(segment, position, 1).get(0);
+        write(segment, position, ByteBuffer.wrap(new byte[]{(byte) (original ^ 0xFF)}));
+
+        OrderJournal reopened = open(1024, 16);
+        assertThat(reopened.endOffset()).isEqualTo(2 * RECORD);
+        assertThat(replayAll(reopened)).containsExactly(1L, 2L);
+
+        // The bad record's space is reused
+        assertThat(reopened.append(event(4))).isEqualTo(2 * RECORD);
+        assertThat(replayAll(reopened)).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void recoveryDropsATornTailAndClearsIt() throws IOException {
+        OrderJournal journal = open(1024, 16);
+        journal.append(event(1));
+        close(journal);
+
+        // A header whose payload never made it to disk
+        Path segment = directory.resolve("00000000000000000000.log");
+        write(segment, RECORD, ByteBuffer.allocate(8).putInt(53).putInt(0xCAFE).flip());
+
+        OrderJournal reopened = open(1024, 16);
+        assertThat(reopened.endOffset()).isEqualTo(RECORD);
+        assertThat(replayAll(reopened)).containsExactly(1L);
+        close(reopened);
+
+        assertThat(read(segment, RECORD, 8).getLong()).isZero();
+    }
+
+    @Test
+    void recoveryStopsAtALengthThatRunsPastTheSegment() throws IOException {
+        OrderJournal journal = open(1024, 16);
+        journal.append(event(1));
+        close(journal);
+
+        Path segment = directory.resolve("00000000000000000000.log");
+        write(segment, RECORD, ByteBuffer.allocate(8).putInt(Integer.MAX_VALUE).putInt(0).flip());
+
+        OrderJournal reopened = open(1024, 16);
+        assertThat(reopened.endOffset()).isEqualTo(RECORD);
+        assertThat(reopened.append(event(2))).isEqualTo(RECORD);
+    }
+
+    @Test
+    void retentionDeletesTheOldestSegments() throws Exception {
+        OrderJournal journal = open(2 * RECORD, 2);
+        for (long id = 1; id <= 8; id++) {
+            journal.append(event(id));
+        }
+
+        assertThat(journal.startOffset()).isEqualTo(4 * RECORD);
+        // Deletes run on the background thread
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (segmentFiles().size() > 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(segmentFiles()).containsExactly("00000000000000000244.log", "00000000000000000366.log");
+    }
+
+    @Test
+    void replayFromAnExpiredOffsetResumesAtTheOldestRetainedRecordAndSaysSo() {
+        OrderJournal journal = open(2 * RECORD, 2);
+        for (long id = 1; id <= 8; id++) {
+            journal.append(event(id));
+        }
+
+        List<JournalEntry> entries = new ArrayList<>();
+        ReplayResult result = journal.replay(RECORD, 100, entries::add);
+
+        assertThat(result.truncated()).isTrue();
+        assertThat(entries.get(0).offset()).isEqualTo(journal.startOffset());
+        assertThat(entries).extracting(entry -> entry.event().orderId()).containsExactly(5L, 6L, 7L, 8L);
+
+        assertThat(journal.replay(journal.startOffset(), 100, entry -> { }).truncated()).isFalse();
+    }
+
+    @Test
+    void rejectsOffsetsThatAreNotRecordBoundaries() {
+        OrderJournal journal = open(1024, 16);
+        journal.append(event(1));
+        journal.append(event(2));
+
+        assertThatThrownBy(() -> journal.replay(1, 10, entry -> { }))
+                .isInstanceOf(InvalidJournalOffsetException.class);
+        assertThatThrownBy(() -> journal.replay(RECORD + 8, 10, entry -> { }))
+                .isInstanceOf(InvalidJournalOffsetException.class);
+        assertThatThrownBy(() -> journal.replay(journal.endOffset() + 1, 10, entry -> { }))
+                .isInstanceOf(InvalidJournalOffsetException.class);
+        assertThatThrownBy(() -> journal.replay(-1, 10, entry -> { }))
+                .isInstanceOf(InvalidJournalOffsetException.class);
+
+        assertThat(journal.replay(RECORD, 10, entry -> { }).nextOffset()).isEqualTo(2 * RECORD);
+    }
+
+    @Test
+    void rollsWithoutAStandbyAndCleansUpALeftoverOne() throws IOException {
+        Files.write(directory.resolve("next.pending"), new byte[16]);
+
+        OrderJournal journal = open(RECORD, 16);
+        // Back-to-back rolls can outrun the background thread; each must still succeed
+        for (long id = 1; id <= 6; id++) {
+            journal.append(event(id));
+        }
+        assertThat(replayAll(journal)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(segmentFiles()).hasSize(6);
+    }
+
+    private OrderJournal open(int segmentSize, int retainedSegments) {
+        OrderJournal journal = new OrderJournal(directory, segmentSize, retainedSegments, Duration.ofMillis(10));
+        opened.add(journal);
+        return journal;
+    }
+
+    private void close(OrderJournal journal) {
+        opened.remove(journal);
+        journal.close();
+    }
+
+    private static List<Long> replayAll(OrderJournal journal) {
+        List<Long> ids = new ArrayList<>();
+        journal.replay(journal.startOffset(), 1000, entry -> ids.add(entry.event().orderId()));
+        return ids;
+    }
+
+    private List<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".log"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static OrderEvent event(long orderId) {
+        return new OrderEvent(OrderEventType.PLACED, orderId, 7L, 99.5, 1_700_000_000_000L + orderId,
+                List.of(orderId * 10, orderId * 10 + 1));
+    }
+
+    private static ByteBuffer read(Path file, int position, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            channel.read(buffer, position);
+            return buffer.flip();
+        }
+    }
+
+    private static void write(Path file, int position, ByteBuffer data) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(data, position);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.fragranceshop.fragrance_shop_backend.profiling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfilingDataSourceTest {
+
+    private final ProfilingDataSource dataSource =
+            new ProfilingDataSource(new DriverManagerDataSource("jdbc:h2:mem:profiling"));
+
+    private RequestProfile profile;
+
+    @BeforeEach
+    void startProfile() {
+        profile = RequestProfiler.start();
+    }
+
+    @AfterEach
+    void clearProfile() {
+        RequestProfiler.clear();
+    }
+
+    @Test
+    void resultSetCloseEndsHydrate() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select 1")) {
+            ResultSet resultSet = statement.executeQuery();
+            assertThat(profile.activePhase()).isEqualTo(Phase.HYDRATE);
+
+            resultSet.close();
+            assertThat(profile.activePhase()).isNull();
+        }
+        assertThat(profile.statementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void statementCloseEndsHydrateOfResultSetsLeftOpen() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement statement = connection.prepareStatement("select 1");
+            statement.executeQuery();
+            statement.executeQuery();
+
+            statement.close();
+            assertThat(profile.activePhase()).isNull();
+        }
+    }
+
+    @Test
+    void closingBothResultSetAndStatementExitsOnlyOnce() throws Exception {
+        profile.enter(Phase.MAP);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select 1");
+             ResultSet resultSet = statement.executeQuery()) {
+            assertThat(resultSet.next()).isTrue();
+        }
+
+        assertThat(profile.activePhase()).isEqualTo(Phase.MAP);
+    }
+}
@@ -0,0 +1,60 @@
+package com.fragranceshop.fragrance_shop_backend.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestProfileTest {
+
+    @Test
+    void nestedPhaseResumesItsParentOnExit() throws Exception {
+        RequestProfile profile = new RequestProfile();
+
+        profile.enter(Phase.MAP);
+        profile.enter(Phase.DB);
+        Thread.sleep(20);
+        profile.exit(Phase.DB);
+
+        assertThat(profile.activePhase()).isEqualTo(Phase.MAP);
+        assertThat(profile.phaseNanos(Phase.DB)).isGreaterThanOrEqualTo(20_000_000L);
+        assertThat(profile.phaseNanos(Phase.MAP)).isLessThan(profile.phaseNanos(Phase.DB));
+
+        profile.exit(Phase.MAP);
+        assertThat(profile.activePhase()).isNull();
+    }
+
+    @Test
+    void exitPopsThroughPhasesThatWereNeverExited() {
+        RequestProfile profile = new RequestProfile();
+
+        profile.enter(Phase.SERIALIZE);
+        profile.enter(Phase.MAP);
+        profile.enter(Phase.HYDRATE);
+        profile.exit(Phase.MAP);
+
+        assertThat(profile.activePhase()).isEqualTo(Phase.SERIALIZE);
+    }
+
+    @Test
+    void exitOfAPhaseThatIsNotActiveIsIgnored() {
+        RequestProfile profile = new RequestProfile();
+
+        profile.enter(Phase.MAP);
+        profile.exit(Phase.DB);
+
+        assertThat(profile.activePhase()).isEqualTo(Phase.MAP);
+    }
+
+    @Test
+    void timeOutsideAnyPhaseIsNotCharged() throws Exception {
+        RequestProfile profile = new RequestProfile();
+
+        Thread.sleep(10);
+        profile.enter(Phase.MAP);
+        profile.exit(Phase.MAP);
+
+        for (Phase phase : Phase.values()) {
+            assertThat(profile.phaseNanos(phase)).isLessThan(10_000_000L);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.fragranceshop.fragrance_shop_backend.repository;
+
+import com.fragranceshop.fragrance_shop_backend.dto.request.OrderFilterDTO;
+import com.fragranceshop.fragrance_shop_backend.entity.Customer;
+import com.fragranceshop.fragrance_shop_backend.entity.Order;
+import com.fragranceshop.fragrance_shop_backend.entity.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs EXPLAIN on the SQL the search endpoint actually generates (first page, default sort), so a
+// change to OrderSpecifications or the entity indexes that drops back to a table scan fails here.
+// Literals are inlined so the captured statement can be explained as-is.
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.fragranceshop.fragrance_shop_backend.repository.OrderSearchQueryPlanTest$SqlCapture"
+})
+class OrderSearchQueryPlanTest {
+
+    private static final int CUSTOMERS = 50;
+    private static final int PRODUCTS = 40;
+    private static final int ORDERS = 2000;
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long customerId;
+    private Long productId;
+
+    // Seeded once and committed: ANALYZE commits the open transaction anyway, so a per-test
+    // rollback could never undo it
+    @BeforeAll
+    void seed() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            List<Customer> customers = new ArrayList<>();
+            for (int i = 0; i < CUSTOMERS; i++) {
+                Customer c = new Customer(null, "First" + i, "Last" + i, "plan-customer" + i + "@example.com", 1L);
+                em.persist(c);
+                customers.add(c);
+            }
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < PRODUCTS; i++) {
+                Product p = new Product(null, "Scent " + i, "Brand " + (i % 5), 50.0 + i, 10, null, "EDP", 1L);
+                em.persist(p);
+                products.add(p);
+            }
+            for (int i = 0; i < ORDERS; i++) {
+                Order order = new Order();
+                order.setCustomer(customers.get(i % CUSTOMERS));
+                order.setDateCreated(EPOCH.plusHours(i * 7L));
+                order.setTotalAmount(10.0 + (i * 37 % 500));
+                order.setProducts(new ArrayList<>(List.of(products.get(i % PRODUCTS), products.get((i + 7) % PRODUCTS))));
+                order.setChangeSeq(1L);
+                em.persist(order);
+            }
+            customerId = customers.get(3).getId();
+            productId = products.get(11).getId();
+        });
+        transaction.executeWithoutResult(status -> em.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }));
+    }
+
+    @AfterAll
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createNativeQuery("delete from order_products").executeUpdate();
+            em.createQuery("delete from Order").executeUpdate();
+            em.createQuery("delete from Product").executeUpdate();
+            em.createQuery("delete from Customer").executeUpdate();
+        });
+    }
+
+    static Stream<Arguments> filters() {
+        return Stream.of(
+                // H2 may serve this from the index it creates for the customer foreign key, which is
+                // just as good, so only require that orders aren't scanned
+                Arguments.of("customer", filter((f, customerId, productId) ->
+                        f.setCustomerId(customerId)), null),
+                Arguments.of("customer + date", filter((f, customerId, productId) -> {
+                    f.setCustomerId(customerId);
+                    f.setFrom(EPOCH.plusDays(30));
+                    f.setTo(EPOCH.plusDays(60));
+                }), "idx_orders_customer_date"),
+                Arguments.of("customer + date + amount", filter((f, customerId, productId) -> {
+                    f.setCustomerId(customerId);
+                    f.setFrom(EPOCH.plusDays(30));
+                    f.setTo(EPOCH.plusDays(60));
+                    f.setMinAmount(100.0);
+                    f.setMaxAmount(200.0);
+                }), "idx_orders_customer_date"),
+                Arguments.of("date", filter((f, customerId, productId) -> {
+                    f.setFrom(EPOCH.plusDays(30));
+                    f.setTo(EPOCH.plusDays(32));
+                }), "idx_orders_date_amount"),
+                Arguments.of("date + amount", filter((f, customerId, productId) -> {
+                    f.setFrom(EPOCH.plusDays(30));
+                    f.setTo(EPOCH.plusDays(32));
+                    f.setMinAmount(300.0);
+                    f.setMaxAmount(500.0);
+                }), "idx_orders_date_amount"),
+                Arguments.of("product", filter((f, customerId, productId) ->
+                        f.setProductId(productId)), "idx_order_products_product"),
+                Arguments.of("product + date", filter((f, customerId, productId) -> {
+                    f.setProductId(productId);
+                    f.setFrom(EPOCH.plusDays(30));
+                    f.setTo(EPOCH.plusDays(60));
+                }), "idx_order_products_product")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    void searchUsesIndex(String name, FilterSetup setup, String expectedIndex) {
+        OrderFilterDTO filter = new OrderFilterDTO();
+        setup.apply(filter, customerId, productId);
+
+        // The query the endpoint runs: first page with its default sort
+        SqlCapture.reset();
+        Page<Order> page = orderRepository.findAll(OrderSpecifications.matching(filter),
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "dateCreated")));
+        assertThat(page.getContent()).isNotEmpty();
+
+        String sql = SqlCapture.lastSelectFromOrders();
+        String plan = explain(sql).toLowerCase(Locale.ROOT);
+
+        assertThat(plan).as("plan for %s: %s", name, sql).doesNotContain("public.orders.tablescan");
+        if (expectedIndex != null) {
+            assertThat(plan).as("plan for %s: %s", name, sql).contains(expectedIndex);
+        }
+    }
+
+    private String explain(String sql) {
+        return new TransactionTemplate(transactionManager).execute(status -> em.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet plan = statement.executeQuery("EXPLAIN " + bindFirstPage(sql))) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString();
+            }
+        }));
+    }
+
+    // Offset and limit stay JDBC parameters even with inlined literals
+    private static String bindFirstPage(String sql) {
+        return sql.replace("offset ? rows", "offset 0 rows").replace("?", String.valueOf(PAGE_SIZE));
+    }
+
+    // Seeded ids are only known once the test runs, so each case receives them
+    @FunctionalInterface
+    interface FilterSetup {
+        void apply(OrderFilterDTO filter, Long customerId, Long productId);
+    }
+
+    private static FilterSetup filter(FilterSetup setup) {
+        return setup;
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        static void reset() {
+            synchronized (STATEMENTS) {
+                STATEMENTS.clear();
+            }
+        }
+
+        static String lastSelectFromOrders() {
+            synchronized (STATEMENTS) {
+                for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+                    String sql = STATEMENTS.get(i).toLowerCase(Locale.ROOT);
+                    // The page query, not the count query Spring Data may run after it
+                    if (sql.startsWith("select") && sql.contains(" from orders ") && sql.contains(" order by ")) {
+                        return STATEMENTS.get(i);
+                    }
+                }
+            }
+            throw new AssertionError("No page query on orders was captured");
+        }
+    }
+}
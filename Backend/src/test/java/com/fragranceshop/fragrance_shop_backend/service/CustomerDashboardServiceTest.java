@@ -0,0 +1,174 @@
+package com.fragranceshop.fragrance_shop_backend.service;
+
+import com.fragranceshop.fragrance_shop_backend.config.DashboardProperties;
+import com.fragranceshop.fragrance_shop_backend.dto.response.CustomerDashboardDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.OrderSummaryDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.ProductResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.entity.Customer;
+import com.fragranceshop.fragrance_shop_backend.entity.Order;
+import com.fragranceshop.fragrance_shop_backend.entity.Product;
+import com.fragranceshop.fragrance_shop_backend.exception.NotFoundException;
+import com.fragranceshop.fragrance_shop_backend.mappers.CustomerMapper;
+import com.fragranceshop.fragrance_shop_backend.mappers.ProductMapper;
+import com.fragranceshop.fragrance_shop_backend.repository.CustomerRepository;
+import com.fragranceshop.fragrance_shop_backend.repository.OrderRepository;
+import com.fragranceshop.fragrance_shop_backend.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Sections load on their own threads and transactions, so the data is committed for real
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerDashboardServiceTest {
+
+    private static final Duration BRANCH_TIMEOUT = Duration.ofMillis(300);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long customerId;
+
+    // 12 orders a day apart, order i holding product "Scent i"; only the newest 10 are recent
+    @BeforeEach
+    void seed() {
+        customerId = new TransactionTemplate(transactionManager).execute(status -> {
+            Customer customer = customerRepository.save(
+                    new Customer(null, "Dana", "Reed", "dashboard@example.com", 0L));
+            for (int i = 0; i < 12; i++) {
+                Product product = productRepository.save(
+                        new Product(null, "Scent " + i, "Acme", 50.0, 5, null, "EDP", 0L));
+                Order order = new Order();
+                order.setCustomer(customer);
+                order.setDateCreated(LocalDateTime.of(2024, 1, 1, 12, 0).plusDays(i));
+                order.setTotalAmount(10.0 * (i + 1));
+                order.setChangeSeq(0L);
+                order.setProducts(new ArrayList<>(List.of(product)));
+                orderRepository.save(order);
+            }
+            return customer.getId();
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void loadsEverySection() {
+        CustomerDashboardDTO dashboard = service(orderRepository).getDashboard(customerId);
+
+        assertThat(dashboard.customer().firstName()).isEqualTo("Dana");
+        assertThat(dashboard.recentOrders()).extracting(OrderSummaryDTO::totalAmount)
+                .containsExactlyElementsOf(IntStream.iterate(12, i -> i > 2, i -> i - 1)
+                        .mapToObj(i -> 10.0 * i).toList());
+        assertThat(dashboard.spend().orderCount()).isEqualTo(12L);
+        assertThat(dashboard.spend().totalSpent()).isEqualTo(780.0);
+        // Only products of the recent orders, newest first
+        assertThat(dashboard.products()).extracting(ProductResponseDTO::getName)
+                .containsExactlyElementsOf(IntStream.iterate(11, i -> i > 1, i -> i - 1)
+                        .mapToObj(i -> "Scent " + i).toList());
+        assertThat(dashboard.unavailable()).isEmpty();
+    }
+
+    @Test
+    void slowSectionIsDroppedAndTheRestStillReturn() {
+        OrderRepository slowSpend = replacing("spendByCustomerId", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted", e);
+            }
+            return null;
+        });
+
+        long start = System.nanoTime();
+        CustomerDashboardDTO dashboard = service(slowSpend).getDashboard(customerId);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(dashboard.unavailable()).containsExactly("spend");
+        assertThat(dashboard.spend()).isNull();
+        assertThat(dashboard.customer()).isNotNull();
+        assertThat(dashboard.recentOrders()).hasSize(10);
+        assertThat(dashboard.products()).hasSize(10);
+        // The slow branch was interrupted and joined, not left running for its full 10s
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void failingSectionIsDroppedAndTheRestStillReturn() {
+        OrderRepository failingRecent = replacing("findTop10ByCustomerIdOrderByDateCreatedDesc", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        CustomerDashboardDTO dashboard = service(failingRecent).getDashboard(customerId);
+
+        // Products are read through the same query, so they go too
+        assertThat(dashboard.unavailable()).containsExactlyInAnyOrder("recentOrders", "products");
+        assertThat(dashboard.recentOrders()).isEmpty();
+        assertThat(dashboard.products()).isEmpty();
+        assertThat(dashboard.customer()).isNotNull();
+        assertThat(dashboard.spend().orderCount()).isEqualTo(12L);
+    }
+
+    @Test
+    void missingCustomerFailsTheWholeDashboard() {
+        assertThatThrownBy(() -> service(orderRepository).getDashboard(-1L))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private CustomerDashboardService service(OrderRepository orders) {
+        DashboardProperties properties = new DashboardProperties();
+        properties.setBranchTimeout(BRANCH_TIMEOUT);
+        CustomerDashboardService service = new CustomerDashboardService(customerRepository, orders,
+                new CustomerMapper(), new ProductMapper(), transactionManager, properties);
+        service.init();
+        return service;
+    }
+
+    // The real repository, except for one method
+    private OrderRepository replacing(String method, Supplier<Object> behaviour) {
+        return (OrderRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{OrderRepository.class}, (proxy, invoked, args) -> {
+                    if (invoked.getName().equals(method)) {
+                        return behaviour.get();
+                    }
+                    try {
+                        return invoked.invoke(orderRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,129 @@
+package com.fragranceshop.fragrance_shop_backend.service;
+
+import com.fragranceshop.fragrance_shop_backend.dto.request.ProductBulkUpdateRequestDTO;
+import com.fragranceshop.fragrance_shop_backend.dto.response.ProductBulkUpdateResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.entity.Product;
+import com.fragranceshop.fragrance_shop_backend.exception.BadRequestException;
+import com.fragranceshop.fragrance_shop_backend.mappers.ProductMapper;
+import com.fragranceshop.fragrance_shop_backend.repository.ProductRepository;
+import com.fragranceshop.fragrance_shop_backend.sync.ChangeTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ProductService.class, ProductMapper.class, ChangeTracker.class})
+class ProductBulkUpdateTest {
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Test
+    void brandScopeSkipsPricesThatRoundToZeroAndStockBelowZero() {
+        Product regular = save("Acme", 40.00, 10);
+        Product cheap = save("Acme", 0.004, 10);
+        Product lowStock = save("Acme", 20.00, 2);
+        Product otherBrand = save("Other", 40.00, 10);
+
+        ProductBulkUpdateResponseDTO result = service.bulkUpdate(request("Acme", null, -50.0, -3));
+
+        assertThat(result.pricesUpdated()).isEqualTo(2);
+        assertThat(result.priceSkippedIds()).containsExactly(cheap.getId());
+        assertThat(result.stockUpdated()).isEqualTo(2);
+        assertThat(result.stockSkippedIds()).containsExactly(lowStock.getId());
+
+        assertThat(reload(regular).getPrice()).isEqualTo(20.00);
+        assertThat(reload(regular).getStockQuantity()).isEqualTo(7);
+        assertThat(reload(cheap).getPrice()).isEqualTo(0.004);
+        assertThat(reload(lowStock).getPrice()).isEqualTo(10.00);
+        assertThat(reload(lowStock).getStockQuantity()).isEqualTo(2);
+        assertThat(reload(otherBrand).getPrice()).isEqualTo(40.00);
+        assertThat(reload(otherBrand).getStockQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void idScopeReportsSkippedIdsAcrossChunks() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ProductService.BULK_CHUNK_SIZE + 5; i++) {
+            products.add(save("Acme", 10.00, 5));
+        }
+        // One skip of each kind in the first chunk and one in the second
+        Product cheapFirst = products.get(0);
+        cheapFirst.setPrice(0.004);
+        Product lowStockLast = products.get(products.size() - 1);
+        lowStockLast.setStockQuantity(0);
+        repository.saveAllAndFlush(List.of(cheapFirst, lowStockLast));
+
+        List<Long> ids = new ArrayList<>(products.stream().map(Product::getId).toList());
+        ids.add(ids.get(1));           // duplicate
+        ids.add(null);                 // ignored
+        ids.add(Long.MAX_VALUE);       // doesn't exist
+
+        ProductBulkUpdateResponseDTO result = service.bulkUpdate(request(null, ids, 10.0, -1));
+
+        assertThat(result.pricesUpdated()).isEqualTo(products.size() - 1);
+        assertThat(result.priceSkippedIds()).containsExactly(cheapFirst.getId());
+        assertThat(result.stockUpdated()).isEqualTo(products.size() - 1);
+        assertThat(result.stockSkippedIds()).containsExactly(lowStockLast.getId());
+
+        assertThat(reload(products.get(1)).getPrice()).isEqualTo(11.00);
+        assertThat(reload(products.get(1)).getStockQuantity()).isEqualTo(4);
+        assertThat(reload(cheapFirst).getStockQuantity()).isEqualTo(4);
+        assertThat(reload(lowStockLast).getPrice()).isEqualTo(11.00);
+        assertThat(reload(lowStockLast).getStockQuantity()).isZero();
+    }
+
+    @Test
+    void eachOperationGetsItsOwnSequenceNumber() {
+        Product product = save("Acme", 10.00, 5);
+        long before = reload(product).getChangeSeq();
+
+        service.bulkUpdate(request(null, List.of(product.getId()), 10.0, null));
+        long afterPrice = reload(product).getChangeSeq();
+        service.bulkUpdate(request(null, List.of(product.getId()), null, 1));
+
+        assertThat(afterPrice).isGreaterThan(before);
+        assertThat(reload(product).getChangeSeq()).isGreaterThan(afterPrice);
+    }
+
+    @Test
+    void requiresExactlyOneScopeAndAnOperation() {
+        assertThatThrownBy(() -> service.bulkUpdate(request("Acme", List.of(1L), 10.0, null)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.bulkUpdate(request(null, null, 10.0, null)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.bulkUpdate(request("Acme", null, null, null)))
+                .isInstanceOf(BadRequestException.class);
+        List<Long> tooMany = LongStream.rangeClosed(1, ProductService.MAX_BULK_IDS + 1).boxed().toList();
+        assertThatThrownBy(() -> service.bulkUpdate(request(null, tooMany, 10.0, null)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private Product save(String brand, double price, int stock) {
+        return repository.save(new Product(null, "Scent", brand, price, stock, null, "EDP", 0L));
+    }
+
+    private Product reload(Product product) {
+        return repository.findById(product.getId()).orElseThrow();
+    }
+
+    private static ProductBulkUpdateRequestDTO request(String brand, List<Long> ids, Double pricePercent, Integer stockDelta) {
+        ProductBulkUpdateRequestDTO dto = new ProductBulkUpdateRequestDTO();
+        dto.setBrand(brand);
+        dto.setIds(ids);
+        dto.setPricePercent(pricePercent);
+        dto.setStockDelta(stockDelta);
+        return dto;
+    }
+}
@@ -0,0 +1,211 @@
+package com.fragranceshop.fragrance_shop_backend.sync;
+
+import com.fragranceshop.fragrance_shop_backend.dto.response.DeltaResponseDTO;
+import com.fragranceshop.fragrance_shop_backend.entity.Product;
+import com.fragranceshop.fragrance_shop_backend.repository.ProductRepository;
+import com.fragranceshop.fragrance_shop_backend.repository.TombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Writes commit for real (no test transaction), since the watermark follows commit completion
+@DataJpaTest
+@Import(ChangeTracker.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeTrackerTest {
+
+    @Autowired
+    private ChangeTracker changes;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private String token;
+
+    @BeforeEach
+    void catchUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        token = drain(ChangeTracker.INITIAL_TOKEN);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+    }
+
+    @Test
+    void pagesThroughChangesWithHasMore() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(create());
+        }
+
+        DeltaResponseDTO<Long> first = delta(token, 2);
+        assertThat(first.changed()).containsExactly(ids.get(0), ids.get(1));
+        assertThat(first.hasMore()).isTrue();
+
+        DeltaResponseDTO<Long> second = delta(first.watermark(), 2);
+        assertThat(second.changed()).containsExactly(ids.get(2), ids.get(3));
+        assertThat(second.hasMore()).isTrue();
+
+        DeltaResponseDTO<Long> last = delta(second.watermark(), 2);
+        assertThat(last.changed()).containsExactly(ids.get(4));
+        assertThat(last.hasMore()).isFalse();
+        assertThat(last.reset()).isFalse();
+
+        DeltaResponseDTO<Long> caughtUp = delta(last.watermark(), 2);
+        assertThat(caughtUp.changed()).isEmpty();
+        assertThat(caughtUp.watermark()).isEqualTo(last.watermark());
+    }
+
+    @Test
+    void neverSplitsOneChangeAcrossPages() {
+        Long before = create();
+        List<Long> bulk = createInOneChange(5);
+        Long after = create();
+
+        // The bulk change doesn't fit after the first row, so the page stops before it
+        DeltaResponseDTO<Long> first = delta(token, 3);
+        assertThat(first.changed()).containsExactly(before);
+        assertThat(first.hasMore()).isTrue();
+
+        // On its own it's larger than the limit and goes out whole
+        DeltaResponseDTO<Long> second = delta(first.watermark(), 3);
+        assertThat(second.changed()).containsExactlyInAnyOrderElementsOf(bulk);
+        assertThat(second.hasMore()).isTrue();
+
+        DeltaResponseDTO<Long> third = delta(second.watermark(), 3);
+        assertThat(third.changed()).containsExactly(after);
+        assertThat(third.hasMore()).isFalse();
+    }
+
+    @Test
+    void interleavesTombstonesWithRowsInSequenceOrder() {
+        Long deleted = create();
+        Long kept = create();
+        delete(deleted);
+        Long created = create();
+
+        DeltaResponseDTO<Long> first = delta(token, 2);
+        assertThat(first.changed()).containsExactly(kept);
+        assertThat(first.deletedIds()).containsExactly(deleted);
+        assertThat(first.hasMore()).isTrue();
+
+        DeltaResponseDTO<Long> second = delta(first.watermark(), 2);
+        assertThat(second.changed()).containsExactly(created);
+        assertThat(second.deletedIds()).isEmpty();
+        assertThat(second.hasMore()).isFalse();
+    }
+
+    @Test
+    void doesNotSkipAWriteThatCommitsLate() throws Exception {
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            Long id = productRepository.save(product(changes.next())).getId();
+            allocated.countDown();
+            await(release);
+            return id;
+        }));
+        assertThat(allocated.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Long fast = create();
+
+        // The fast write committed, but handing it out now would move the watermark past the slow one
+        DeltaResponseDTO<Long> during = delta(token, 100);
+        assertThat(during.changed()).isEmpty();
+        assertThat(during.watermark()).isEqualTo(token);
+
+        release.countDown();
+        Long late = slow.get(5, TimeUnit.SECONDS);
+
+        DeltaResponseDTO<Long> after = delta(during.watermark(), 100);
+        assertThat(after.changed()).containsExactly(late, fast);
+    }
+
+    @Test
+    void resetsOnATokenFromAnotherDatabase() {
+        Long id = create();
+        long seq = Long.parseLong(token.substring(token.indexOf(':') + 1));
+
+        for (String foreign : List.of("otherepoch:" + seq, "-1", "12", "garbage", token + "0")) {
+            DeltaResponseDTO<Long> delta = delta(foreign, ChangeTracker.MAX_DELTA_LIMIT);
+            assertThat(delta.reset()).as(foreign).isTrue();
+            assertThat(delta.changed()).as(foreign).contains(id);
+        }
+
+        assertThat(delta(token, 100).reset()).isFalse();
+        assertThat(delta(ChangeTracker.INITIAL_TOKEN, 100).reset()).isFalse();
+    }
+
+    private Long create() {
+        return transaction.execute(status -> productRepository.save(product(changes.next())).getId());
+    }
+
+    private List<Long> createInOneChange(int count) {
+        return transaction.execute(status -> {
+            long seq = changes.next();
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ids.add(productRepository.save(product(seq)).getId());
+            }
+            return ids;
+        });
+    }
+
+    private void delete(Long id) {
+        transaction.executeWithoutResult(status -> {
+            productRepository.deleteById(id);
+            changes.recordDelete(ChangeEntityType.PRODUCT, id);
+        });
+    }
+
+    private DeltaResponseDTO<Long> delta(String since, int limit) {
+        return changes.delta(ChangeEntityType.PRODUCT, since, limit,
+                productRepository::findByChangeSeqBetweenOrderByChangeSeqAsc, Product::getChangeSeq, Product::getId);
+    }
+
+    private String drain(String since) {
+        DeltaResponseDTO<Long> delta;
+        do {
+            delta = delta(since, ChangeTracker.MAX_DELTA_LIMIT);
+            since = delta.watermark();
+        } while (delta.hasMore());
+        return since;
+    }
+
+    private static Product product(long seq) {
+        return new Product(null, "Scent", "Brand", 80.0, 5, null, "EDP", seq);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
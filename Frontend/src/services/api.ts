@@ -1,6 +1,13 @@
 import axios from 'axios';
 import type { AxiosInstance } from 'axios';
-import type { Customer, CustomerSummary, OrderPayload, OrderSummary, Product } from '../types';
+import type {
+  BatchResult,
+  Customer,
+  CustomerSummary,
+  OrderPayload,
+  OrderSummary,
+  Product,
+} from '../types';
 
 // Prefer Vite-style env, fall back to CRA-style, then to same-origin /api, then localhost.
 const envBase =
@@ -10,14 +17,26 @@ const envBase =
 // Prefer explicit env, otherwise fall back to relative /api so dev proxy or same-origin backend works.
 const API_BASE_URL = (envBase ? envBase.replace(/\/$/, '') : null) ?? '/api';
 
+// Per-tab client id so the backend can serve this tab's reads from primary right after its writes.
+const CLIENT_ID_KEY = 'fragrance-shop-client-id';
+const clientId =
+  sessionStorage.getItem(CLIENT_ID_KEY) ??
+  (() => {
+    const id = crypto.randomUUID();
+    sessionStorage.setItem(CLIENT_ID_KEY, id);
+    return id;
+  })();
+
 const api: AxiosInstance = axios.create({
   baseURL: API_BASE_URL,
-  headers: { 'Content-Type': 'application/json' },
+  headers: { 'Content-Type': 'application/json', 'X-Client-Id': clientId },
 });
 
 export const customerApi = {
   getAll: () => api.get<Customer[]>('/customers'),
   getById: (id: number | string) => api.get<Customer>(`/customers/${id}`),
+  getByIds: (ids: number[]) =>
+    api.get<BatchResult<Customer>>('/customers', { params: { ids: ids.join(',') } }),
   create: (data: Pick<Customer, 'firstName' | 'lastName' | 'email'>) =>
     api.post('/customers', data),
   update: (id: number, data: Pick<Customer, 'firstName' | 'lastName' | 'email'>) =>
@@ -29,6 +48,8 @@ export const customerApi = {
 export const productApi = {
   getAll: () => api.get<Product[]>('/products'),
   getById: (id: number | string) => api.get<Product>(`/products/${id}`),
+  getByIds: (ids: number[]) =>
+    api.get<BatchResult<Product>>('/products', { params: { ids: ids.join(',') } }),
   create: (data: Omit<Product, 'id'>) => api.post('/products', data),
   update: (id: number, data: Omit<Product, 'id'>) => api.put(`/products/${id}`, data),
   delete: (id: number) => api.delete(`/products/${id}`),
@@ -37,6 +58,8 @@ export const productApi = {
 export const orderApi = {
   getAll: () => api.get<OrderSummary[]>('/orders'),
   getById: (id: number | string) => api.get<OrderSummary>(`/orders/${id}`),
+  getByIds: (ids: number[]) =>
+    api.get<BatchResult<OrderSummary>>('/orders', { params: { ids: ids.join(',') } }),
   create: (data: OrderPayload) => api.post('/orders', data),
   update: (id: number, data: OrderPayload) => api.put(`/orders/${id}`, data),
   delete: (id: number) => api.delete(`/orders/${id}`),
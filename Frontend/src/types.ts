@@ -31,3 +31,8 @@ export interface OrderPayload {
   customerId: number;
   productIds: number[];
 }
+
+export interface BatchResult<T> {
+  items: T[];
+  missingIds: number[];
+}